@@ -40,6 +40,22 @@ public interface TouremObject extends Serializable {
      */
     LocalDateTime getDeletedAt();
 
+    /**
+     * Sets the date and time when the object was deleted in the db
+     */
+    void setDeletedAt(LocalDateTime localDateTime);
+
+    /**
+     * Gets the version of the object, incremented on every update
+     * @return object version
+     */
+    Long getVersion();
+
+    /**
+     * Sets the version of the object
+     */
+    void setVersion(Long version);
+
     /**
      * Tells if an object has its ID set or not
      * @return true or false
@@ -71,4 +87,12 @@ public interface TouremObject extends Serializable {
     default boolean hasDeletedAt() {
         return nonNull(this.getDeletedAt());
     }
+
+    /**
+     * Tells if an object has its version set
+     * @return true if version exists
+     */
+    default boolean hasVersion() {
+        return nonNull(this.getVersion());
+    }
 }
@@ -0,0 +1,108 @@
+package com.tourem.cache;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class GuavaTouremCache<K, V> implements TouremCache<K, V> {
+
+	/** loaded for a missing value, never left in the cache: Guava rejects null values by throwing */
+	private static final Object ABSENT = new Object();
+
+	private final String name;
+	private final Cache<K, Object> cache;
+	/** incremented by every eviction, before the entries are removed */
+	private final AtomicLong generation = new AtomicLong();
+
+	public GuavaTouremCache(String name, long maximumSize, Duration ttl) {
+		this.name = name;
+		this.cache = CacheBuilder.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(ttl)
+			.recordStats()
+			.build();
+	}
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Loads a missing key once, the concurrent lookups of the key waiting for the load.
+	 * A value loaded while the key, or the whole cache, was evicted may be read before the eviction:
+	 * it is returned to the caller but removed from the cache.
+	 * A missing value is shared with the concurrent lookups of the key only, then removed.
+	 * The loader should return null rather than throw for an expected outcome: Guava wraps what it throws
+	 * in two exceptions, each one filling in its stack trace.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(K key, Function<K, V> loader) {
+		var generation = this.generation.get();
+		var loaded = new AtomicBoolean();
+		Object value;
+		try {
+			value = this.cache.get(key, () -> {
+				loaded.set(true);
+				return Objects.requireNonNullElse(loader.apply(key), ABSENT);
+			});
+		} catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+			Throwables.throwIfUnchecked(e.getCause());
+			throw new IllegalStateException(e.getCause());
+		}
+		if (value == ABSENT) {
+			this.cache.asMap().remove(key, ABSENT);
+			return null;
+		}
+		if (loaded.get() && this.generation.get() != generation) {
+			this.cache.asMap().remove(key, value);
+		}
+		return (V) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V getIfPresent(K key) {
+		var value = this.cache.getIfPresent(key);
+		return value == ABSENT ? null : (V) value;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		this.cache.put(key, value);
+	}
+
+	@Override
+	public void evict(K key) {
+		this.generation.incrementAndGet();
+		this.cache.invalidate(key);
+	}
+
+	@Override
+	public void evict(K key, V value) {
+		this.cache.asMap().remove(key, value);
+	}
+
+	@Override
+	public void clear() {
+		this.generation.incrementAndGet();
+		this.cache.invalidateAll();
+	}
+
+	@Override
+	public TouremCacheStats getStats() {
+		CacheStats stats = this.cache.stats();
+		return new TouremCacheStats(this.name, this.cache.size(), stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate());
+	}
+}
@@ -0,0 +1,53 @@
+package com.tourem.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class GuavaTouremCacheManager implements TouremCacheManager {
+
+	private final boolean enabled;
+	private final long maximumSize;
+	private final Duration ttl;
+	private final Map<String, TouremCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+	public GuavaTouremCacheManager(@Value("${tourem.cache.enabled:true}") boolean enabled,
+								   @Value("${tourem.cache.maximum-size:10000}") long maximumSize,
+								   @Value("${tourem.cache.ttl:10m}") Duration ttl) {
+		this.enabled = enabled;
+		this.maximumSize = maximumSize;
+		this.ttl = ttl;
+	}
+
+	@Override
+	public <K, V> TouremCache<K, V> getCache(String name) {
+		return getCache(name, this.maximumSize, this.ttl);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <K, V> TouremCache<K, V> getCache(String name, long maximumSize, Duration ttl) {
+		return (TouremCache<K, V>) this.caches.computeIfAbsent(name, key -> createCache(key, maximumSize, ttl));
+	}
+
+	@Override
+	public Collection<TouremCacheStats> getStats() {
+		return this.caches.values().stream().map(TouremCache::getStats).toList();
+	}
+
+	private TouremCache<?, ?> createCache(String name, long maximumSize, Duration ttl) {
+		if (!this.enabled) {
+			log.debug("Caching disabled - using no-op cache for [{}]", name);
+			return new NoOpTouremCache<>(name);
+		}
+		log.debug("Creating cache [{}] with maximum size [{}] and ttl [{}]", name, maximumSize, ttl);
+		return new GuavaTouremCache<>(name, maximumSize, ttl);
+	}
+}
@@ -0,0 +1,55 @@
+package com.tourem.cache;
+
+import java.util.function.Function;
+
+/**
+ * Cache implementation used when caching is disabled: every lookup goes to the loader
+ */
+public class NoOpTouremCache<K, V> implements TouremCache<K, V> {
+
+	private final String name;
+
+	public NoOpTouremCache(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	@Override
+	public V get(K key, Function<K, V> loader) {
+		return loader.apply(key);
+	}
+
+	@Override
+	public V getIfPresent(K key) {
+		return null;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		// nothing is cached
+	}
+
+	@Override
+	public void evict(K key) {
+		// nothing is cached
+	}
+
+	@Override
+	public void evict(K key, V value) {
+		// nothing is cached
+	}
+
+	@Override
+	public void clear() {
+		// nothing is cached
+	}
+
+	@Override
+	public TouremCacheStats getStats() {
+		return new TouremCacheStats(this.name, 0, 0, 0, 0, 0);
+	}
+}
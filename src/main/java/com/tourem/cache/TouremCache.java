@@ -0,0 +1,64 @@
+package com.tourem.cache;
+
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache used by the services to keep frequently read resources in memory
+ * @param <K> type of the keys
+ * @param <V> type of the cached values
+ */
+public interface TouremCache<K, V> {
+	/**
+	 * Gets the name of the cache
+	 * @return the cache name
+	 */
+	String getName();
+
+	/**
+	 * Returns the cached value of a key, or loads it and stores it in the cache on a miss.
+	 * Values for which the loader returns null or throws are not cached.
+	 * A value loaded while the key was evicted is returned but not cached, as it may predate the eviction.
+	 * @param key key of the value
+	 * @param loader function used to load the value on a cache miss
+	 * @return the cached or freshly loaded value
+	 */
+	V get(K key, Function<K, V> loader);
+
+	/**
+	 * Returns the cached value of a key, without loading it on a miss
+	 * @param key key of the value
+	 * @return the cached value, or null on a miss
+	 */
+	V getIfPresent(K key);
+
+	/**
+	 * Stores the value of a key, replacing the cached one
+	 * @param key key of the value
+	 * @param value value to be cached
+	 */
+	void put(K key, V value);
+
+	/**
+	 * Removes one key from the cache
+	 * @param key key to be removed
+	 */
+	void evict(K key);
+
+	/**
+	 * Removes one key from the cache if it still holds the given value
+	 * @param key key to be removed
+	 * @param value value the key must hold
+	 */
+	void evict(K key, V value);
+
+	/**
+	 * Removes every key from the cache
+	 */
+	void clear();
+
+	/**
+	 * Gets a snapshot of the cache counters
+	 * @return the cache statistics
+	 */
+	TouremCacheStats getStats();
+}
@@ -0,0 +1,36 @@
+package com.tourem.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Creates and keeps track of the caches used by the services.
+ * Register another implementation as a bean to plug a different cache provider.
+ */
+public interface TouremCacheManager {
+	/**
+	 * Gets the cache with the given name, creating it on first access
+	 * @param name name of the cache
+	 * @param <K> type of the keys
+	 * @param <V> type of the cached values
+	 * @return the cache
+	 */
+	<K, V> TouremCache<K, V> getCache(String name);
+
+	/**
+	 * Gets the cache with the given name, creating it on first access with its own bounds
+	 * @param name name of the cache
+	 * @param maximumSize maximum number of entries of the cache
+	 * @param ttl time to live of the entries of the cache
+	 * @param <K> type of the keys
+	 * @param <V> type of the cached values
+	 * @return the cache
+	 */
+	<K, V> TouremCache<K, V> getCache(String name, long maximumSize, Duration ttl);
+
+	/**
+	 * Gets the statistics of every cache created by this manager
+	 * @return the statistics of the caches
+	 */
+	Collection<TouremCacheStats> getStats();
+}
@@ -0,0 +1,4 @@
+package com.tourem.cache;
+
+public record TouremCacheStats(String name, long size, long hits, long misses, long evictions, double hitRate) {
+}
@@ -0,0 +1,11 @@
+package com.tourem.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Serialized response of a read endpoint, replayed by the {@link TouremResponseCacheFilter}
+ * @param body serialized body
+ * @param headers content type, cache control and validators of the response
+ */
+public record TouremCachedResponse(byte[] body, HttpHeaders headers) {
+}
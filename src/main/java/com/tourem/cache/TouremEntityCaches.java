@@ -0,0 +1,46 @@
+package com.tourem.cache;
+
+import com.tourem.dto.TouremDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entity caches of the services, by the type of the DTO they hold.
+ * A write of a resource clears the caches of the resources embedding it, as the response cache does with its regions,
+ * so that an article is not served with the state its author had before an update.
+ */
+@Slf4j
+@Component
+public class TouremEntityCaches {
+
+	private final Map<TouremCache<String, ?>, Set<Class<?>>> embeddedTypes = new ConcurrentHashMap<>();
+
+	/**
+	 * Registers the entity cache of a resource
+	 * @param dtoType type of the cached resource
+	 * @param cache cache of the resource
+	 */
+	public void register(Class<? extends TouremDto> dtoType, TouremCache<String, ?> cache) {
+		var types = TouremResponseCache.embeddedTypes(dtoType);
+		if (!types.isEmpty()) {
+			log.debug("Cache [{}] cleared by the writes of {}", cache.getName(), types);
+			this.embeddedTypes.put(cache, types);
+		}
+	}
+
+	/**
+	 * Clears the caches of the resources embedding a resource type
+	 * @param dtoType type of the written resource
+	 */
+	public void invalidateEmbedding(Class<?> dtoType) {
+		this.embeddedTypes.forEach((cache, types) -> {
+			if (types.contains(dtoType)) {
+				cache.clear();
+			}
+		});
+	}
+}
@@ -0,0 +1,178 @@
+package com.tourem.cache;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.tourem.dao.ids.UuidStringJavaTypeDescriptor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Bloom filter of the IDs of the live rows of an entity, telling the IDs which certainly do not exist
+ * so that their lookups are answered without querying the database.
+ * The IDs of the created rows are added as they are created. The removed IDs stay in the filter until the next
+ * rebuild, where they only cost a query, as would an ID answered as a false positive. Until its first build,
+ * the filter answers that every ID may exist.
+ * During a rebuild, the lookups are served by the previous filter and the created IDs are added to both.
+ * The UUIDs are normalized, as the database accepts them in several forms.
+ */
+public class TouremIdFilter {
+
+	private final String name;
+	private final double falsePositiveRate;
+	private final long minimumCapacity;
+
+	private volatile BloomFilter<CharSequence> filter;
+	private volatile BloomFilter<CharSequence> building;
+	private volatile long capacity;
+	private volatile Instant builtAt;
+	private volatile Duration buildTime;
+
+	private final LongAdder lookups = new LongAdder();
+	private final LongAdder definiteMisses = new LongAdder();
+	private final LongAdder falsePositives = new LongAdder();
+
+	/**
+	 * @param name name of the entity
+	 * @param falsePositiveRate false positive rate of the filter when holding as many IDs as its capacity
+	 * @param minimumCapacity minimum number of IDs the filter is sized for
+	 */
+	public TouremIdFilter(String name, double falsePositiveRate, long minimumCapacity) {
+		this.name = name;
+		this.falsePositiveRate = falsePositiveRate;
+		this.minimumCapacity = minimumCapacity;
+	}
+
+	/**
+	 * @param id ID looked up
+	 * @return false if no live row has this ID, true if one may have it
+	 */
+	public boolean mightContain(String id) {
+		var current = this.filter;
+		if (isNull(current) || isNull(id)) {
+			return true;
+		}
+		this.lookups.increment();
+		if (current.mightContain(UuidStringJavaTypeDescriptor.normalize(id))) {
+			return true;
+		}
+		this.definiteMisses.increment();
+		return false;
+	}
+
+	/**
+	 * Records a lookup let through by the filter that found no row
+	 */
+	public void recordFalsePositive() {
+		this.falsePositives.increment();
+	}
+
+	/**
+	 * Adds the ID of a created row
+	 * @param id ID of the row
+	 */
+	public void put(String id) {
+		if (isNull(id)) {
+			return;
+		}
+		var key = UuidStringJavaTypeDescriptor.normalize(id);
+		// the filter being built is read first: once the build is over, the current filter is the new one
+		var next = this.building;
+		var current = this.filter;
+		if (!isNull(current)) {
+			current.put(key);
+		}
+		if (!isNull(next)) {
+			next.put(key);
+		}
+	}
+
+	/**
+	 * Builds a new filter from the IDs of the live rows, then serves the lookups with it
+	 * @param rowCount number of rows, the filter being sized for twice as many IDs
+	 * @param ids source passing every ID of the live rows to its consumer
+	 */
+	public synchronized void rebuild(long rowCount, Consumer<Consumer<String>> ids) {
+		var start = System.nanoTime();
+		var newCapacity = Math.max(this.minimumCapacity, rowCount * 2);
+		var next = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), newCapacity, this.falsePositiveRate);
+		this.building = next;
+		try {
+			ids.accept(id -> next.put(UuidStringJavaTypeDescriptor.normalize(id)));
+			this.capacity = newCapacity;
+			this.filter = next;
+			this.builtAt = Instant.now();
+			this.buildTime = Duration.ofNanos(System.nanoTime() - start);
+			this.lookups.reset();
+			this.definiteMisses.reset();
+			this.falsePositives.reset();
+		} finally {
+			this.building = null;
+		}
+	}
+
+	/**
+	 * @return true once the IDs have been loaded
+	 */
+	public boolean isReady() {
+		return !isNull(this.filter);
+	}
+
+	/**
+	 * @return true when the filter holds more IDs than it was sized for, its false positive rate then exceeding the configured one
+	 */
+	public boolean isOverCapacity() {
+		var current = this.filter;
+		return !isNull(current) && current.approximateElementCount() > this.capacity;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Gets the statistics of the filter since its last build
+	 * @return the statistics of the filter
+	 */
+	public TouremIdFilterStats getStats() {
+		var current = this.filter;
+		if (isNull(current)) {
+			return new TouremIdFilterStats(this.name, false, 0, 0, this.falsePositiveRate, 0, 0, 0, 0, 0, 0, null, null);
+		}
+		var misses = this.definiteMisses.sum();
+		var falsePositiveCount = this.falsePositives.sum();
+		var negatives = misses + falsePositiveCount;
+		return new TouremIdFilterStats(
+			this.name,
+			true,
+			current.approximateElementCount(),
+			this.capacity,
+			this.falsePositiveRate,
+			current.expectedFpp(),
+			this.lookups.sum(),
+			misses,
+			falsePositiveCount,
+			negatives == 0 ? 0 : (double) falsePositiveCount / negatives,
+			sizeInBytes(current),
+			this.builtAt,
+			this.buildTime);
+	}
+
+	private static long sizeInBytes(BloomFilter<CharSequence> filter) {
+		try (var out = new CountingOutputStream(ByteStreams.nullOutputStream())) {
+			filter.writeTo(out);
+			return out.getCount();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
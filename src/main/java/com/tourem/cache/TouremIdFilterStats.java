@@ -0,0 +1,25 @@
+package com.tourem.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Statistics of the ID filter of an entity since its last build
+ * @param name name of the entity
+ * @param ready false until the IDs have been loaded, every lookup then going to the database
+ * @param ids approximate number of IDs in the filter
+ * @param capacity number of IDs the filter is sized for
+ * @param configuredFalsePositiveRate false positive rate at capacity
+ * @param expectedFalsePositiveRate false positive rate expected with the IDs currently in the filter
+ * @param lookups lookups answered by the filter
+ * @param definiteMisses lookups answered without querying the database
+ * @param falsePositives lookups let through which found no row, including the IDs removed since the build
+ * @param observedFalsePositiveRate false positives out of the lookups of IDs which have no row
+ * @param memoryBytes size of the bit array of the filter
+ * @param builtAt time of the last build
+ * @param buildTime duration of the last build
+ */
+public record TouremIdFilterStats(String name, boolean ready, long ids, long capacity, double configuredFalsePositiveRate,
+								  double expectedFalsePositiveRate, long lookups, long definiteMisses, long falsePositives,
+								  double observedFalsePositiveRate, long memoryBytes, Instant builtAt, Duration buildTime) {
+}
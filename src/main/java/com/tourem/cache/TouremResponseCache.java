@@ -0,0 +1,147 @@
+package com.tourem.cache;
+
+import com.tourem.dto.TouremDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache of the serialized responses of the read endpoints, with one region per resource path.
+ * A region is invalidated by every write of its resource, and of the resources embedded in its responses,
+ * so that a cached response only outlives the writes made by the other instances of the application, up to the ttl.
+ */
+@Slf4j
+@Component
+public class TouremResponseCache {
+
+	private final TouremCacheManager cacheManager;
+	private final boolean enabled;
+	private final long maximumSize;
+	private final Duration ttl;
+	private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+	public TouremResponseCache(TouremCacheManager cacheManager,
+							   @Value("${tourem.response-cache.enabled:false}") boolean enabled,
+							   @Value("${tourem.response-cache.maximum-size:1000}") long maximumSize,
+							   @Value("${tourem.response-cache.ttl:30s}") Duration ttl) {
+		this.cacheManager = cacheManager;
+		this.enabled = enabled;
+		this.maximumSize = maximumSize;
+		this.ttl = ttl;
+	}
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Registers the region of the responses served under a path
+	 * @param path base path of the resource, such as /articles
+	 * @param dtoType type of the resource served under the path
+	 */
+	public void register(String path, Class<? extends TouremDto> dtoType) {
+		if (!this.enabled) {
+			return;
+		}
+		var embeddedTypes = embeddedTypes(dtoType);
+		TouremCache<String, TouremCachedResponse> cache = this.cacheManager.getCache(dtoType.getSimpleName() + ".responses", this.maximumSize, this.ttl);
+
+		log.debug("Caching the responses of [{}] under [{}], invalidated by the writes of {}", dtoType.getSimpleName(), path, embeddedTypes);
+		this.regions.put(path, new Region(cache, dtoType, embeddedTypes));
+	}
+
+	/**
+	 * Gets the types of the resources embedded in a resource
+	 * @param dtoType type of the resource
+	 * @return the types of its properties which are resources themselves
+	 */
+	static Set<Class<?>> embeddedTypes(Class<?> dtoType) {
+		return Arrays.stream(BeanUtils.getPropertyDescriptors(dtoType))
+			.map(PropertyDescriptor::getPropertyType)
+			.filter(type -> TouremDto.class.isAssignableFrom(type) && !type.equals(dtoType))
+			.collect(Collectors.toUnmodifiableSet());
+	}
+
+	/**
+	 * Gets the region of the responses of a request
+	 * @param path path of the request within the application
+	 * @return the region, empty when the responses of the path are not cached
+	 */
+	public Optional<Region> regionOf(String path) {
+		return this.regions.entrySet()
+			.stream()
+			.filter(entry -> path.equals(entry.getKey()) || path.startsWith(entry.getKey() + "/"))
+			.map(Map.Entry::getValue)
+			.findFirst();
+	}
+
+	/**
+	 * Invalidates the regions holding a resource type, directly or embedded in another resource
+	 * @param dtoType type of the written resource
+	 */
+	public void invalidate(Class<?> dtoType) {
+		this.regions.values()
+			.stream()
+			.filter(region -> region.dtoType.equals(dtoType) || region.embeddedTypes.contains(dtoType))
+			.forEach(Region::invalidate);
+	}
+
+	/**
+	 * Cached responses of one resource.
+	 * Each invalidation starts a new generation: a response computed while a write was committing
+	 * belongs to the previous generation and is not stored.
+	 */
+	public static final class Region {
+		private final TouremCache<String, TouremCachedResponse> cache;
+		private final Class<?> dtoType;
+		private final Set<Class<?>> embeddedTypes;
+		private final AtomicLong generation = new AtomicLong();
+
+		private Region(TouremCache<String, TouremCachedResponse> cache, Class<?> dtoType, Set<Class<?>> embeddedTypes) {
+			this.cache = cache;
+			this.dtoType = dtoType;
+			this.embeddedTypes = embeddedTypes;
+		}
+
+		public long generation() {
+			return this.generation.get();
+		}
+
+		public TouremCachedResponse get(String key) {
+			return this.cache.getIfPresent(key);
+		}
+
+		/**
+		 * Stores a response unless the region was invalidated since its computation started
+		 * @param key key of the request
+		 * @param response serialized response
+		 * @param generation generation of the region when the computation started
+		 */
+		public void put(String key, TouremCachedResponse response, long generation) {
+			if (this.generation.get() != generation) {
+				return;
+			}
+			this.cache.put(key, response);
+			// an invalidation may have happened between the check and the put
+			if (this.generation.get() != generation) {
+				this.cache.evict(key);
+			}
+		}
+
+		private void invalidate() {
+			this.generation.incrementAndGet();
+			this.cache.clear();
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.tourem.cache;
+
+import com.tourem.datasource.ReplicaRoutingDataSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the GET requests of the cached resources from the {@link TouremResponseCache}, without reaching the
+ * controllers, and stores their successful responses on a miss.
+ * The key of a response is the path of the request and its parameters sorted by name.
+ * Exports are streamed and never cached, nor are the responses read from a replica, which may lag behind the primary.
+ * The CORS headers, which depend on the request, are neither cached nor replayed: they are set by a CorsFilter running first.
+ */
+public class TouremResponseCacheFilter extends OncePerRequestFilter {
+
+	private static final String EXPORT_PATH = "/export";
+	private static final List<String> CACHED_HEADERS = List.of(HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+	private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+	private final TouremResponseCache responseCache;
+
+	public TouremResponseCacheFilter(TouremResponseCache responseCache) {
+		this.responseCache = responseCache;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		var path = URL_PATH_HELPER.getPathWithinApplication(request);
+		var region = HttpMethod.GET.matches(request.getMethod()) && !path.endsWith(EXPORT_PATH)
+			? this.responseCache.regionOf(path).orElse(null)
+			: null;
+		if (Objects.isNull(region)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		var key = keyOf(path, request);
+		var cached = region.get(key);
+		if (Objects.nonNull(cached)) {
+			replay(cached, request, response);
+			return;
+		}
+
+		var generation = region.generation();
+		var replicaReads = ReplicaRoutingDataSource.replicaReads();
+		var wrapper = new ContentCachingResponseWrapper(response);
+		try {
+			filterChain.doFilter(request, wrapper);
+			if (wrapper.getStatus() == HttpStatus.OK.value() && !request.isAsyncStarted() && ReplicaRoutingDataSource.replicaReads() == replicaReads) {
+				var headers = new HttpHeaders();
+				CACHED_HEADERS.stream()
+					.filter(name -> Objects.nonNull(wrapper.getHeader(name)))
+					.forEach(name -> headers.set(name, wrapper.getHeader(name)));
+				if (Objects.nonNull(wrapper.getContentType())) {
+					headers.set(HttpHeaders.CONTENT_TYPE, wrapper.getContentType());
+				}
+				region.put(key, new TouremCachedResponse(wrapper.getContentAsByteArray(), headers), generation);
+			}
+		} finally {
+			wrapper.copyBodyToResponse();
+		}
+	}
+
+	private static void replay(TouremCachedResponse cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+		var headers = cached.headers();
+		// checkNotModified sets the 304 and the validators
+		if (new ServletWebRequest(request, response).checkNotModified(headers.getETag(), headers.getLastModified())) {
+			return;
+		}
+		headers.forEach((name, values) -> response.setHeader(name, values.get(0)));
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentLength(cached.body().length);
+		response.getOutputStream().write(cached.body());
+	}
+
+	private static String keyOf(String path, HttpServletRequest request) {
+		Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+		return parameters.entrySet()
+			.stream()
+			.map(entry -> entry.getKey() + "=" + String.join(",", entry.getValue()))
+			.collect(Collectors.joining("&", path + "?", ""));
+	}
+}
@@ -1,15 +1,44 @@
 package com.tourem.config;
 
+import com.tourem.dao.ids.TouremIdStorage;
+import com.tourem.dao.ids.TouremIdTypeContributor;
+import com.tourem.dao.repositories.SimpleTouremRepository;
+import com.tourem.datasource.ReadYourWritesFilter;
+import com.tourem.datasource.ReadYourWritesTracker;
+import com.tourem.datasource.ReplicaBalancing;
+import com.tourem.datasource.ReplicaRoutingDataSource;
+import com.tourem.datasource.StatementCountFilter;
+import com.tourem.datasource.StatementObserver;
+import com.tourem.datasource.StatementObservingDataSource;
+import com.tourem.metrics.TouremMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.TypeContributorList;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
+@Slf4j
 @Configuration
+@EnableJpaRepositories(basePackages = "com.tourem.dao.repositories", repositoryBaseClass = SimpleTouremRepository.class)
 public class JpaConfig {
 
+	private static final String POOL_NAME = "tourem";
+	private static final String POSTGRESQL_URL_PREFIX = "jdbc:postgresql:";
+
 	@Value("${spring.datasource.password}")
 	private String password;
 
@@ -19,13 +48,208 @@ public class JpaConfig {
 	@Value("${spring.datasource.username}")
 	private String username;
 
+	@Value("${spring.datasource.driver-class-name:org.postgresql.Driver}")
+	private String driverClassName;
+
+	/** fixed pool size, derived from the cores and the database limits when 0 */
+	@Value("${tourem.datasource.pool.maximum-size:0}")
+	private int maximumPoolSize;
+
+	/** minimum number of idle connections, same as the pool size when negative */
+	@Value("${tourem.datasource.pool.minimum-idle:-1}")
+	private int minimumIdle;
+
+	/** max_connections of the database server, shared by all the instances of the application */
+	@Value("${tourem.datasource.pool.database-max-connections:100}")
+	private int databaseMaxConnections;
+
+	/** connections kept free on the database server for maintenance and superusers */
+	@Value("${tourem.datasource.pool.reserved-connections:10}")
+	private int reservedConnections;
+
+	/** number of instances of the application connected to the database */
+	@Value("${tourem.datasource.pool.instances:1}")
+	private int instances;
+
+	@Value("${tourem.datasource.pool.connection-timeout:3s}")
+	private Duration connectionTimeout;
+
+	@Value("${tourem.datasource.pool.validation-timeout:1s}")
+	private Duration validationTimeout;
+
+	@Value("${tourem.datasource.pool.idle-timeout:10m}")
+	private Duration idleTimeout;
+
+	@Value("${tourem.datasource.pool.max-lifetime:30m}")
+	private Duration maxLifetime;
+
+	/** time a connection may be held before a leak warning is logged, disabled when 0 */
+	@Value("${tourem.datasource.pool.leak-detection-threshold:60s}")
+	private Duration leakDetectionThreshold;
+
+	/** executions of a statement after which the PostgreSQL driver switches it to a server-side prepared statement */
+	@Value("${tourem.datasource.pool.prepare-threshold:3}")
+	private int prepareThreshold;
+
+	@Value("${tourem.datasource.pool.prepared-statement-cache-queries:256}")
+	private int preparedStatementCacheQueries;
+
+	@Value("${tourem.datasource.pool.prepared-statement-cache-size-mib:5}")
+	private int preparedStatementCacheSizeMiB;
+
+	/** URLs of the read replicas, read-only transactions go to the primary when empty */
+	@Value("${tourem.datasource.replicas.urls:}")
+	private List<String> replicaUrls;
+
+	@Value("${tourem.datasource.replicas.balancing:round-robin}")
+	private String replicaBalancing;
+
+	/** how long the reads of a client go to the primary after it wrote */
+	@Value("${tourem.datasource.replicas.read-your-writes-window:5s}")
+	private Duration readYourWritesWindow;
+
+	@Value("${tourem.datasource.replicas.read-your-writes-clients:100000}")
+	private long readYourWritesClients;
+
+	/** times the statements, logs the slow ones and counts them per request */
+	@Value("${tourem.sql.observe:true}")
+	private boolean observeStatements;
+
+	/** duration from which a statement is logged with its parameters, disabled when 0 */
+	@Value("${tourem.sql.slow-query-threshold:500ms}")
+	private Duration slowQueryThreshold;
+
+	@Value("${tourem.sql.max-parameter-length:100}")
+	private int maxParameterLength;
+
+	/** number of statements from which a request is logged, disabled when 0 */
+	@Value("${tourem.sql.request-statements-warning:20}")
+	private int requestStatementsWarning;
+
+	/** storage of the ID columns, string or uuid */
+	@Value("${tourem.persistence.id-storage:string}")
+	private String idStorage;
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	public JpaConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Creates the connection pool of the primary.
+	 * When replicas are configured, read-only transactions are routed to the replicas, except for the clients
+	 * which wrote within the read-your-writes window.
+	 * Pool metrics (active, idle, pending connections and acquire time) are published by the actuator
+	 * under the hikaricp.connections meters, tagged with the pool name.
+	 * The statements are timed by the {@link StatementObserver} in front of the primary and the replicas.
+	 */
 	@Bean
 	public DataSource getDataSource() {
-		var dataSourceBuilder = DataSourceBuilder.create();
-		dataSourceBuilder.driverClassName("org.postgresql.Driver");
-		dataSourceBuilder.url(url);
-		dataSourceBuilder.username(username);
-		dataSourceBuilder.password(password);
-		return dataSourceBuilder.build();
+		var dataSource = createDataSource();
+		return observeStatements ? new StatementObservingDataSource(dataSource, statementObserver()) : dataSource;
+	}
+
+	/**
+	 * Times the statements, logs the ones slower than the threshold and counts them per request
+	 */
+	@Bean
+	public StatementObserver statementObserver() {
+		return new StatementObserver(slowQueryThreshold, maxParameterLength, meterRegistry.getIfAvailable());
+	}
+
+	/**
+	 * Counts the statements run by each request
+	 */
+	@Bean
+	public FilterRegistrationBean<StatementCountFilter> statementCountFilter(ObjectProvider<TouremMetrics> metrics) {
+		var registration = new FilterRegistrationBean<>(new StatementCountFilter(requestStatementsWarning, metrics.getIfAvailable()));
+		registration.setEnabled(observeStatements);
+		return registration;
+	}
+
+	private DataSource createDataSource() {
+		var poolSize = maximumPoolSize > 0
+			? maximumPoolSize
+			: derivePoolSize(Runtime.getRuntime().availableProcessors(), databaseMaxConnections, reservedConnections, instances);
+		var primary = createPool(POOL_NAME, url, poolSize);
+
+		if (replicaUrls.isEmpty()) {
+			return primary;
+		}
+
+		List<HikariDataSource> replicas = new ArrayList<>();
+		for (int i = 0; i < replicaUrls.size(); i++) {
+			replicas.add(createPool(POOL_NAME + "-replica-" + i, replicaUrls.get(i).trim(), poolSize));
+		}
+		var readYourWrites = new ReadYourWritesTracker(readYourWritesWindow, readYourWritesClients);
+		log.info("Routing read-only transactions to [{}] replicas", replicas.size());
+		return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicas, ReplicaBalancing.fromValue(replicaBalancing), readYourWrites));
+	}
+
+	/**
+	 * Binds the client of each request for the read-your-writes window of the replica routing
+	 */
+	@Bean
+	public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+		var registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+		registration.setEnabled(!replicaUrls.isEmpty());
+		return registration;
+	}
+
+	/**
+	 * Registers the type of the ID columns, selected by the ID storage
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer idTypeCustomizer() {
+		var contributor = new TouremIdTypeContributor(TouremIdStorage.fromValue(idStorage));
+		return properties -> properties.put(EntityManagerFactoryBuilderImpl.TYPE_CONTRIBUTORS, (TypeContributorList) () -> List.of(contributor));
+	}
+
+	private HikariDataSource createPool(String poolName, String jdbcUrl, int poolSize) {
+		var dataSource = new HikariDataSource();
+		dataSource.setPoolName(poolName);
+		dataSource.setDriverClassName(driverClassName);
+		dataSource.setJdbcUrl(jdbcUrl);
+		dataSource.setUsername(username);
+		dataSource.setPassword(password);
+
+		dataSource.setMaximumPoolSize(poolSize);
+		dataSource.setMinimumIdle(minimumIdle < 0 ? poolSize : Math.min(minimumIdle, poolSize));
+		dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+		dataSource.setValidationTimeout(validationTimeout.toMillis());
+		dataSource.setIdleTimeout(idleTimeout.toMillis());
+		dataSource.setMaxLifetime(maxLifetime.toMillis());
+		dataSource.setLeakDetectionThreshold(leakDetectionThreshold.toMillis());
+
+		if (jdbcUrl.startsWith(POSTGRESQL_URL_PREFIX)) {
+			dataSource.addDataSourceProperty("prepareThreshold", prepareThreshold);
+			dataSource.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+			dataSource.addDataSourceProperty("preparedStatementCacheSizeMiB", preparedStatementCacheSizeMiB);
+			// lets the JDBC batches of the bulk operations be sent as multi-row inserts
+			dataSource.addDataSourceProperty("reWriteBatchedInserts", true);
+		}
+
+		// the actuator only instruments the pools exposed as beans, the replicas are instrumented here
+		meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+		log.info("Connection pool [{}] sized to [{}] connections", poolName, poolSize);
+		return dataSource;
+	}
+
+	/**
+	 * Derives the pool size: twice the number of cores plus one for the connections waiting on I/O,
+	 * bounded by this instance's share of the connections accepted by the database server.
+	 * Each replica being a server of its own, its pool gets the same size as the primary's.
+	 * @param cores number of available processors
+	 * @param databaseMaxConnections max_connections of the database server
+	 * @param reservedConnections connections kept free on the database server
+	 * @param instances number of instances of the application
+	 * @return the pool size, at least 1
+	 */
+	static int derivePoolSize(int cores, int databaseMaxConnections, int reservedConnections, int instances) {
+		var byCores = cores * 2 + 1;
+		var byDatabase = (databaseMaxConnections - reservedConnections) / Math.max(1, instances);
+		return Math.max(1, Math.min(byCores, byDatabase));
 	}
 }
@@ -0,0 +1,57 @@
+package com.tourem.config;
+
+import com.tourem.dao.repositories.ArticleRepository;
+import com.tourem.search.ArticleSearchEngine;
+import com.tourem.search.InMemoryArticleSearchEngine;
+import com.tourem.search.PostgresArticleSearchEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Slf4j
+@Configuration
+public class SearchConfig {
+
+	private static final String POSTGRESQL = "postgresql";
+	private static final String MEMORY = "memory";
+
+	/**
+	 * Creates the article search engine: the PostgreSQL text search when the database supports it,
+	 * the in-process index otherwise. The tourem.search.engine property forces one of them.
+	 */
+	@Bean
+	public ArticleSearchEngine articleSearchEngine(@Value("${tourem.search.engine:auto}") String engine,
+												   DataSource dataSource,
+												   JdbcTemplate jdbcTemplate,
+												   ArticleRepository articleRepository,
+												   PlatformTransactionManager transactionManager) {
+		var resolved = POSTGRESQL.equals(engine) || MEMORY.equals(engine) ? engine : detectEngine(dataSource);
+		log.info("Using the [{}] article search engine", resolved);
+
+		if (POSTGRESQL.equals(resolved)) {
+			return new PostgresArticleSearchEngine(jdbcTemplate);
+		}
+		var readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		return new InMemoryArticleSearchEngine(articleRepository, readOnlyTransaction);
+	}
+
+	private String detectEngine(DataSource dataSource) {
+		try {
+			String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+			return "PostgreSQL".equals(product) ? POSTGRESQL : MEMORY;
+		} catch (MetaDataAccessException e) {
+			log.debug("Unable to read the database product name", e);
+			return MEMORY;
+		}
+	}
+}
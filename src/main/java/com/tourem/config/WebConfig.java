@@ -0,0 +1,62 @@
+package com.tourem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourem.cache.TouremResponseCache;
+import com.tourem.cache.TouremResponseCacheFilter;
+import com.tourem.metrics.TimedJackson2HttpMessageConverter;
+import com.tourem.metrics.TouremMetrics;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig {
+
+	private static final int RESPONSE_CACHE_FILTER_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+	/**
+	 * Serves the read endpoints from the response cache, when enabled
+	 */
+	@Bean
+	public FilterRegistrationBean<TouremResponseCacheFilter> responseCacheFilter(TouremResponseCache responseCache) {
+		var registration = new FilterRegistrationBean<>(new TouremResponseCacheFilter(responseCache));
+		registration.setEnabled(responseCache.isEnabled());
+		registration.setOrder(RESPONSE_CACHE_FILTER_ORDER);
+		return registration;
+	}
+
+	/**
+	 * Applies the CORS policy of the controllers, @CrossOrigin(origins = "*"), to the paths of the response cache,
+	 * whose hits are answered before the dispatcher servlet processes the @CrossOrigin annotations.
+	 * The dispatcher servlet leaves the CORS headers set by this filter as they are on a miss.
+	 */
+	@Bean
+	public FilterRegistrationBean<CorsFilter> responseCacheCorsFilter(TouremResponseCache responseCache) {
+		var cors = new CorsConfiguration();
+		cors.setAllowedOrigins(List.of(CorsConfiguration.ALL));
+		cors.setAllowedMethods(List.of(CorsConfiguration.ALL));
+		cors.setAllowedHeaders(List.of(CorsConfiguration.ALL));
+		cors.setMaxAge(1800L);
+
+		var urlPathHelper = new UrlPathHelper();
+		var registration = new FilterRegistrationBean<>(new CorsFilter(request ->
+			responseCache.regionOf(urlPathHelper.getPathWithinApplication(request)).isPresent() ? cors : null));
+		registration.setEnabled(responseCache.isEnabled());
+		registration.setOrder(RESPONSE_CACHE_FILTER_ORDER - 1);
+		return registration;
+	}
+
+	/**
+	 * Replaces the JSON converter of Spring Boot with one timing the serialization of the responses
+	 */
+	@Bean
+	public TimedJackson2HttpMessageConverter timedJackson2HttpMessageConverter(ObjectMapper objectMapper, TouremMetrics metrics) {
+		return new TimedJackson2HttpMessageConverter(objectMapper, metrics);
+	}
+}
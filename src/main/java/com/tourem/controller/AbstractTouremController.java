@@ -1,36 +1,123 @@
 package com.tourem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Strings;
+import com.tourem.cache.TouremResponseCache;
+import com.tourem.dto.TotalMode;
 import com.tourem.dto.TouremApiResponse;
+import com.tourem.dto.TouremBulkResult;
+import com.tourem.dto.TouremCursorPage;
 import com.tourem.dto.TouremDto;
+import com.tourem.dto.TouremPage;
+import com.tourem.exceptions.PreconditionFailedException;
+import com.tourem.export.ExportFormat;
+import com.tourem.service.AbstractTouremService;
 import com.tourem.service.TouremService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Slf4j
 @CrossOrigin(origins = "*")
 public abstract class AbstractTouremController<D extends TouremDto> implements TouremController<D> {
 
+	private static final String ETAG_SEPARATOR = "-";
+
 	protected final TouremService<D> service;
+	protected final Class<D> dtoType;
+	/** getters of the resources embedded in the responses, whose changes also change the validators of a response */
+	private final List<Method> embeddedResources;
+
+	private ObjectMapper objectMapper;
+	private String cacheControl;
 
+	@SuppressWarnings("unchecked")
 	protected AbstractTouremController(TouremService<D> service) {
 		this.service = service;
+		this.dtoType = (Class<D>) Objects.requireNonNull(GenericTypeResolver.resolveTypeArgument(getClass(), AbstractTouremController.class));
+		this.embeddedResources = Arrays.stream(BeanUtils.getPropertyDescriptors(this.dtoType))
+			.filter(property -> TouremDto.class.isAssignableFrom(property.getPropertyType()) && !property.getPropertyType().equals(this.dtoType))
+			.sorted(Comparator.comparing(PropertyDescriptor::getName))
+			.map(PropertyDescriptor::getReadMethod)
+			.filter(Objects::nonNull)
+			.toList();
+	}
+
+	@Autowired
+	public void setObjectMapper(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Sets the Cache-Control header of the read endpoints, such as no-cache or max-age=60.
+	 * The header is omitted when empty.
+	 * @param cacheControl value of the Cache-Control header
+	 */
+	@Autowired
+	public void setCacheControl(@Value("${tourem.http.cache-control:no-cache}") String cacheControl) {
+		this.cacheControl = cacheControl;
+	}
+
+	/**
+	 * Registers the base paths of the controller as one region of the response cache
+	 * @param responseCache cache of the serialized responses
+	 */
+	@Autowired
+	public void setResponseCache(TouremResponseCache responseCache) {
+		var mapping = AnnotatedElementUtils.findMergedAnnotation(ClassUtils.getUserClass(getClass()), RequestMapping.class);
+		if (Objects.nonNull(mapping)) {
+			for (var path : mapping.path()) {
+				responseCache.register(path, this.dtoType);
+			}
+		}
+	}
+
+	/**
+	 * Gets the name of the entity served by the controller, as the entity tag of the metrics
+	 * @return the simple name of the entity class, or of the DTO class when the service is not a Tourem service
+	 */
+	public String getEntityName() {
+		return this.service instanceof AbstractTouremService<?, ?> touremService ? touremService.getEntityName() : this.dtoType.getSimpleName();
 	}
 
 	/**
-	 * Find one element by its ID
+	 * Find one element by its ID.
+	 * The response carries the versions of the element and of the resources it embeds as ETag: when it matches
+	 * the If-None-Match header, a 304 is returned without the body being serialized.
+	 * The Last-Modified header is the last update of the element or of the resources it embeds.
 	 * @param id ID of the element to be found
 	 * @return returns the found element
 	 */
 	@Override
 	@GetMapping(path = "/details/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<TouremApiResponse<D>> find(@PathVariable String id) {
-		return ResponseEntity.ok(new TouremApiResponse<>(this.service.find(id), HttpStatus.OK.value()));
+		var result = this.service.find(id);
+		return withLastModified(withETag(cacheable(ResponseEntity.ok()), result), result).body(new TouremApiResponse<>(result, HttpStatus.OK.value()));
 	}
 
 	/**
@@ -41,7 +128,7 @@ public abstract class AbstractTouremController<D extends TouremDto> implements T
 	@Override
 	@GetMapping(path = "/details", produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<TouremApiResponse<D>> find(@RequestParam Map<String, String> criteria) {
-		return ResponseEntity.ok(new TouremApiResponse<>(this.service.find(criteria), HttpStatus.OK.value()));
+		return cacheable(ResponseEntity.ok()).body(new TouremApiResponse<>(this.service.find(criteria), HttpStatus.OK.value()));
 	}
 
 	/**
@@ -52,52 +139,197 @@ public abstract class AbstractTouremController<D extends TouremDto> implements T
 	@Override
 	@PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
 	public ResponseEntity<TouremApiResponse<D>> create(@RequestBody D data) {
-		return ResponseEntity.ok(new TouremApiResponse<>(this.service.create(data), HttpStatus.CREATED.value()));
+		var result = this.service.create(data);
+		return withETag(ResponseEntity.ok(), result).body(new TouremApiResponse<>(result, HttpStatus.CREATED.value()));
 	}
 
 	/**
-	 * Update one part of an element
+	 * Update one part of an element.
+	 * The If-Match header, or the version of the data, rejects the update with a 412 if the element has been modified since.
 	 * @param data update data
+	 * @param ifMatch ETag of the element known by the client
 	 * @return returns the newly updated resource
 	 */
 	@Override
 	@PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<TouremApiResponse<D>> patch(@RequestBody D data) {
-		return ResponseEntity.ok(new TouremApiResponse<>(this.service.patch(data), HttpStatus.CREATED.value()));
+	public ResponseEntity<TouremApiResponse<D>> patch(@RequestBody D data, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		data.setVersion(expectedVersion(data.getVersion(), ifMatch));
+		var result = this.service.patch(data);
+		return withETag(ResponseEntity.ok(), result).body(new TouremApiResponse<>(result, HttpStatus.CREATED.value()));
 	}
 
 	/**
-	 * Replace the content of the element
+	 * Replace the content of the element.
+	 * The If-Match header, or the version of the data, rejects the update with a 412 if the element has been modified since.
 	 *
 	 * @param data update data
+	 * @param ifMatch ETag of the element known by the client
 	 * @return returns the newly updated resource
 	 */
 	@Override
 	@PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<TouremApiResponse<D>> put(@RequestBody D data) {
-		return ResponseEntity.ok(new TouremApiResponse<>(this.service.put(data), HttpStatus.CREATED.value()));
+	public ResponseEntity<TouremApiResponse<D>> put(@RequestBody D data, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		data.setVersion(expectedVersion(data.getVersion(), ifMatch));
+		var result = this.service.put(data);
+		return withETag(ResponseEntity.ok(), result).body(new TouremApiResponse<>(result, HttpStatus.CREATED.value()));
 	}
 
 	/**
-	 * Delete a resource by its ID
+	 * Delete a resource by its ID.
+	 * The If-Match header rejects the delete with a 412 if the resource has been modified since.
 	 *
 	 * @param id ID of the resource to be deleted
+	 * @param ifMatch ETag of the resource known by the client
 	 */
 	@Override
 	@DeleteMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
 	@ResponseStatus(HttpStatus.FOUND)
-	public void delete(@PathVariable String id) {
-		this.service.delete(id);
+	public void delete(@PathVariable String id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		this.service.delete(id, expectedVersion(null, ifMatch));
+	}
+
+	/**
+	 * Create many resources
+	 * @param data resources information
+	 * @return returns the outcome of each item, in the request order
+	 */
+	@Override
+	@PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<TouremApiResponse<List<TouremBulkResult<D>>>> createAll(@RequestBody List<D> data) {
+		return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(new TouremApiResponse<>(this.service.createAll(data), HttpStatus.MULTI_STATUS.value()));
+	}
+
+	/**
+	 * Update one part of many elements
+	 * @param data update data
+	 * @return returns the outcome of each item, in the request order
+	 */
+	@Override
+	@PatchMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<TouremApiResponse<List<TouremBulkResult<D>>>> patchAll(@RequestBody List<D> data) {
+		return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(new TouremApiResponse<>(this.service.patchAll(data), HttpStatus.MULTI_STATUS.value()));
+	}
+
+	/**
+	 * Delete many resources by their IDs
+	 * @param ids IDs of the resources to be deleted
+	 * @return returns the outcome of each item, in the request order
+	 */
+	@Override
+	@DeleteMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<TouremApiResponse<List<TouremBulkResult<D>>>> deleteAll(@RequestBody List<String> ids) {
+		return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(new TouremApiResponse<>(this.service.deleteAll(ids), HttpStatus.MULTI_STATUS.value()));
 	}
 
 	/**
 	 * Find many elements by criteria
 	 * @param criteria Criteria of the resources to be found
-	 * @return returns one or many pages
+	 * @return returns one page, or one slice when the total is skipped
 	 */
 	@Override
 	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<TouremApiResponse<Page<D>>> findAll(@RequestParam Map<String, String> criteria) {
-		return ResponseEntity.ok(new TouremApiResponse<>(this.service.findAll(criteria), HttpStatus.FOUND.value()));
+	public ResponseEntity<TouremApiResponse<Slice<D>>> findAll(@RequestParam Map<String, String> criteria) {
+		var results = this.service.findAll(criteria);
+		return cacheable(ResponseEntity.ok()).body(new TouremApiResponse<>(results, HttpStatus.FOUND.value(), TouremPage.totalModeOf(results)));
+	}
+
+	/**
+	 * Find many elements by criteria using keyset pagination.
+	 * Pass an empty cursor to get the first page, then the returned next cursor for the following ones.
+	 * @param criteria Criteria of the resources to be found, including the cursor of the page
+	 * @return returns one page and the cursor of the next one
+	 */
+	@Override
+	@GetMapping(params = "cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<TouremApiResponse<TouremCursorPage<D>>> findAllByCursor(@RequestParam Map<String, String> criteria) {
+		return cacheable(ResponseEntity.ok()).body(new TouremApiResponse<>(this.service.findAllByCursor(criteria), HttpStatus.FOUND.value(), TotalMode.NONE));
+	}
+
+	/**
+	 * Export all the elements matching the criteria as NDJSON (default) or CSV, selected by the format criteria.
+	 * The elements are written as they are read from the DB, without being collected first.
+	 * @param criteria Criteria of the resources to be exported, including the format
+	 * @return returns the streamed elements
+	 */
+	@Override
+	@GetMapping(path = "/export")
+	public ResponseEntity<StreamingResponseBody> export(@RequestParam Map<String, String> criteria) {
+		var format = ExportFormat.fromValue(criteria.get("format"));
+		StreamingResponseBody body = out -> {
+			try (var writer = format.createWriter(out, this.objectMapper, this.dtoType)) {
+				this.service.export(criteria, row -> {
+					try {
+						writer.write(row);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+		};
+		var fileName = format.getFileName(this.dtoType.getSimpleName().replace("Dto", "").toLowerCase());
+		return ResponseEntity.ok()
+			.contentType(format.getMediaType())
+			.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+			.body(body);
+	}
+
+	private ResponseEntity.BodyBuilder cacheable(ResponseEntity.BodyBuilder builder) {
+		return Strings.isNullOrEmpty(this.cacheControl) ? builder : builder.header(HttpHeaders.CACHE_CONTROL, this.cacheControl);
+	}
+
+	/**
+	 * Sets the Last-Modified header from the last update, or creation, of the element and of the resources it embeds.
+	 * Pages have no such header: the deletion of one of their elements would not move it.
+	 */
+	private ResponseEntity.BodyBuilder withLastModified(ResponseEntity.BodyBuilder builder, D result) {
+		return Stream.concat(Stream.of(result), embeddedResourcesOf(result))
+			.filter(Objects::nonNull)
+			.map(resource -> resource.hasUpdatedAt() ? resource.getUpdatedAt() : resource.getCreatedAt())
+			.filter(Objects::nonNull)
+			.max(Comparator.naturalOrder())
+			.map(lastModified -> builder.lastModified(lastModified.atZone(ZoneId.systemDefault())))
+			.orElse(builder);
+	}
+
+	/**
+	 * Sets the ETag header from the version of the element followed by the versions of the resources it embeds,
+	 * such as "3-5" for version 3 of an article whose author is at version 5
+	 */
+	private ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, D result) {
+		if (!result.hasVersion()) {
+			return builder;
+		}
+		var eTag = new StringBuilder().append(result.getVersion());
+		embeddedResourcesOf(result).forEach(resource -> eTag.append(ETAG_SEPARATOR).append(Objects.nonNull(resource) && resource.hasVersion() ? resource.getVersion() : ""));
+		return builder.eTag(eTag.toString());
+	}
+
+	private Stream<TouremDto> embeddedResourcesOf(D result) {
+		return this.embeddedResources.stream().map(getter -> (TouremDto) ReflectionUtils.invokeMethod(getter, result));
+	}
+
+	/**
+	 * Reads the version expected by the client from the If-Match header, or from the data when the header is missing.
+	 * Only the version of the element is read from the ETag, a write does not depend on the resources it embeds.
+	 * @param dataVersion version carried by the data, may be null
+	 * @param ifMatch If-Match header, may be null
+	 * @return the expected version, null when any version is accepted
+	 */
+	private static Long expectedVersion(Long dataVersion, String ifMatch) {
+		if (Strings.isNullOrEmpty(ifMatch) || "*".equals(ifMatch.trim())) {
+			return dataVersion;
+		}
+
+		Long version;
+		try {
+			var eTag = ifMatch.trim().replaceFirst("^W/", "").replace("\"", "");
+			version = Long.valueOf(eTag.split(ETAG_SEPARATOR, 2)[0]);
+		} catch (NumberFormatException e) {
+			throw new PreconditionFailedException(String.format("Invalid If-Match header [%s]", ifMatch));
+		}
+		if (Objects.nonNull(dataVersion) && !dataVersion.equals(version)) {
+			throw new PreconditionFailedException(String.format("If-Match header [%s] does not match the version [%s] of the data", ifMatch, dataVersion));
+		}
+		return version;
 	}
 }
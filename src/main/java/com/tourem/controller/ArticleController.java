@@ -1,14 +1,37 @@
 package com.tourem.controller;
 
 import com.tourem.dto.ArticleDto;
+import com.tourem.dto.TouremApiResponse;
 import com.tourem.service.ArticleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/articles")
 public class ArticleController extends AbstractTouremController<ArticleDto> {
+
+	private final ArticleService articleService;
+
 	protected ArticleController(ArticleService service) {
 		super(service);
+		this.articleService = service;
+	}
+
+	/**
+	 * Full-text search of the articles by title and payload
+	 * @param query text to be searched
+	 * @param size maximum number of results
+	 * @return returns the matching articles, best ranked first
+	 */
+	@GetMapping(path = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<TouremApiResponse<List<ArticleDto>>> search(@RequestParam("q") String query, @RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(new TouremApiResponse<>(this.articleService.search(query, size), HttpStatus.FOUND.value()));
 	}
 }
@@ -0,0 +1,33 @@
+package com.tourem.controller;
+
+import com.tourem.cache.TouremCacheManager;
+import com.tourem.cache.TouremCacheStats;
+import com.tourem.dto.TouremApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collection;
+
+@RestController
+@RequestMapping("/admin/caches")
+public class CacheStatisticsController {
+
+	private final TouremCacheManager cacheManager;
+
+	protected CacheStatisticsController(TouremCacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	/**
+	 * Gets the hit, miss and eviction counters of every cache
+	 * @return the statistics of the caches
+	 */
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<TouremApiResponse<Collection<TouremCacheStats>>> getStats() {
+		return ResponseEntity.ok(new TouremApiResponse<>(this.cacheManager.getStats(), HttpStatus.OK.value()));
+	}
+}
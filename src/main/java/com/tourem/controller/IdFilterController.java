@@ -0,0 +1,54 @@
+package com.tourem.controller;
+
+import com.tourem.cache.TouremIdFilterStats;
+import com.tourem.dto.TouremApiResponse;
+import com.tourem.service.AbstractTouremService;
+import com.tourem.service.IdFilterRebuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/admin/id-filters")
+public class IdFilterController {
+
+	private final List<AbstractTouremService<?, ?>> services;
+	private final IdFilterRebuilder rebuilder;
+
+	protected IdFilterController(List<AbstractTouremService<?, ?>> services, IdFilterRebuilder rebuilder) {
+		this.services = services;
+		this.rebuilder = rebuilder;
+	}
+
+	/**
+	 * Gets the statistics of the ID filters: false positive rates, memory footprint and last build
+	 * @return the statistics of the enabled filters
+	 */
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<TouremApiResponse<List<TouremIdFilterStats>>> getStatistics() {
+		var stats = this.services.stream()
+			.map(AbstractTouremService::getIdFilterStats)
+			.flatMap(Optional::stream)
+			.toList();
+		return ResponseEntity.ok(new TouremApiResponse<>(stats, HttpStatus.OK.value()));
+	}
+
+	/**
+	 * Rebuilds the ID filters in the background, the lookups being served by the current filters meanwhile
+	 * @param entity name of the entity whose filter is rebuilt, every filter when missing
+	 * @return accepted
+	 */
+	@PostMapping("/rebuild")
+	public ResponseEntity<Void> rebuild(@RequestParam(required = false) String entity) {
+		this.rebuilder.rebuildAsync(entity);
+		return ResponseEntity.accepted().build();
+	}
+}
@@ -0,0 +1,49 @@
+package com.tourem.controller;
+
+import com.tourem.dao.indexes.TouremIndexAdvisor;
+import com.tourem.dao.indexes.TouremIndexProposal;
+import com.tourem.dto.TouremApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/admin/indexes")
+public class IndexAdvisorController {
+
+	private final TouremIndexAdvisor indexAdvisor;
+
+	protected IndexAdvisorController(TouremIndexAdvisor indexAdvisor) {
+		this.indexAdvisor = indexAdvisor;
+	}
+
+	/**
+	 * Gets the indexes serving the filters and the sort keys of the resources
+	 * @param missing true to only get the indexes the database does not have
+	 * @return the proposed indexes
+	 */
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<TouremApiResponse<List<TouremIndexProposal>>> getProposals(@RequestParam(defaultValue = "false") boolean missing) {
+		var proposals = this.indexAdvisor.advise().stream().filter(proposal -> !missing || !proposal.present()).toList();
+		return ResponseEntity.ok(new TouremApiResponse<>(proposals, HttpStatus.OK.value()));
+	}
+
+	/**
+	 * Gets the script creating the missing indexes, to be reviewed then applied to the database
+	 * @return the statements creating the missing indexes
+	 */
+	@GetMapping(value = "/ddl", produces = MediaType.TEXT_PLAIN_VALUE)
+	public ResponseEntity<String> getMissingDdl() {
+		return ResponseEntity.ok(this.indexAdvisor.advise().stream()
+			.filter(proposal -> !proposal.present())
+			.map(proposal -> String.format("-- %s: %s%n%s;%n", proposal.entity(), proposal.reason(), proposal.ddl()))
+			.collect(Collectors.joining()));
+	}
+}
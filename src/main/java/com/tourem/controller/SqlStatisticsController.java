@@ -0,0 +1,50 @@
+package com.tourem.controller;
+
+import com.tourem.datasource.StatementObserver;
+import com.tourem.datasource.TouremSqlStatistics;
+import com.tourem.dto.TouremApiResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.persistence.EntityManagerFactory;
+
+@RestController
+@RequestMapping("/admin/sql")
+public class SqlStatisticsController {
+
+	private final Statistics statistics;
+	private final StatementObserver statementObserver;
+
+	protected SqlStatisticsController(EntityManagerFactory entityManagerFactory, StatementObserver statementObserver) {
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.statementObserver = statementObserver;
+	}
+
+	/**
+	 * Gets the statement counters and the Hibernate statistics
+	 * @param queries maximum number of queries, the ones taking the most time in total
+	 * @return the statistics
+	 */
+	@GetMapping(value = "/statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<TouremApiResponse<TouremSqlStatistics>> getStatistics(@RequestParam(defaultValue = "20") int queries) {
+		return ResponseEntity.ok(new TouremApiResponse<>(TouremSqlStatistics.of(this.statistics, this.statementObserver, queries), HttpStatus.OK.value()));
+	}
+
+	/**
+	 * Clears the Hibernate statistics, to measure from now on
+	 * @return no content
+	 */
+	@DeleteMapping("/statistics")
+	public ResponseEntity<Void> clearStatistics() {
+		this.statistics.clear();
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -1,10 +1,14 @@
 package com.tourem.controller;
 
 import com.tourem.dto.TouremApiResponse;
+import com.tourem.dto.TouremBulkResult;
+import com.tourem.dto.TouremCursorPage;
 import com.tourem.dto.TouremDto;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 
 public interface TouremController<D extends TouremDto> {
@@ -32,27 +36,65 @@ public interface TouremController<D extends TouremDto> {
 	/**
 	 * Update one part of an element
 	 * @param data update data
+	 * @param ifMatch ETag of the element known by the client, may be null
 	 * @return returns the newly updated resource
 	 */
-	ResponseEntity<TouremApiResponse<D>> patch(D data);
+	ResponseEntity<TouremApiResponse<D>> patch(D data, String ifMatch);
 
 	/**
 	 * Replace the content of the element
 	 * @param data update data
+	 * @param ifMatch ETag of the element known by the client, may be null
 	 * @return returns the newly updated resource
 	 */
-	ResponseEntity<TouremApiResponse<D>> put(D data);
+	ResponseEntity<TouremApiResponse<D>> put(D data, String ifMatch);
 
 	/**
 	 * Delete a resource by its ID
 	 * @param id ID of the resource to be deleted
+	 * @param ifMatch ETag of the resource known by the client, may be null
 	 */
-	void delete(String id);
+	void delete(String id, String ifMatch);
+
+	/**
+	 * Create many resources
+	 * @param data resources information
+	 * @return returns the outcome of each item, in the request order
+	 */
+	ResponseEntity<TouremApiResponse<List<TouremBulkResult<D>>>> createAll(List<D> data);
+
+	/**
+	 * Update one part of many elements
+	 * @param data update data
+	 * @return returns the outcome of each item, in the request order
+	 */
+	ResponseEntity<TouremApiResponse<List<TouremBulkResult<D>>>> patchAll(List<D> data);
+
+	/**
+	 * Delete many resources by their IDs
+	 * @param ids IDs of the resources to be deleted
+	 * @return returns the outcome of each item, in the request order
+	 */
+	ResponseEntity<TouremApiResponse<List<TouremBulkResult<D>>>> deleteAll(List<String> ids);
 
 	/**
 	 * Find many elements by criteria
 	 * @param criteria Criteria of the resources to be found
-	 * @return returns one or many pages
+	 * @return returns one page, or one slice when the total is skipped
+	 */
+	ResponseEntity<TouremApiResponse<Slice<D>>> findAll(Map<String, String> criteria);
+
+	/**
+	 * Find many elements by criteria using keyset pagination
+	 * @param criteria Criteria of the resources to be found, including the cursor of the page
+	 * @return returns one page and the cursor of the next one
+	 */
+	ResponseEntity<TouremApiResponse<TouremCursorPage<D>>> findAllByCursor(Map<String, String> criteria);
+
+	/**
+	 * Export all the elements matching the criteria as a stream
+	 * @param criteria Criteria of the resources to be exported, including the format
+	 * @return returns the streamed elements
 	 */
-	ResponseEntity<TouremApiResponse<Page<D>>> findAll(Map<String, String> criteria);
+	ResponseEntity<StreamingResponseBody> export(Map<String, String> criteria);
 }
@@ -1,10 +1,14 @@
 package com.tourem.dao.entities;
 
+import com.tourem.dao.ids.TouremIdTypeContributor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotEmpty;
@@ -13,7 +17,9 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@ToString(onlyExplicitlyIncluded = true)
 @Entity
+@DynamicUpdate
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "image_url", schema = "tourem")
@@ -23,8 +29,10 @@ public class ImageUrlEntity implements TouremEntity {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(generator = "system-uuid")
-    @GenericGenerator(name = "system-uuid", strategy = "uuid")
+    @ToString.Include
+    @GeneratedValue(generator = "tourem-id")
+    @GenericGenerator(name = "tourem-id", strategy = "com.tourem.dao.ids.TouremIdGenerator")
+    @Type(type = TouremIdTypeContributor.TYPE_NAME)
     private String id;
 
     @NotEmpty(message = "The url is mandatory")
@@ -40,6 +48,10 @@ public class ImageUrlEntity implements TouremEntity {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
 
     @PrePersist
     public void prePersist() {
@@ -1,10 +1,14 @@
 package com.tourem.dao.entities;
 
+import com.tourem.dao.ids.TouremIdTypeContributor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
 import java.io.Serial;
@@ -12,7 +16,9 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@ToString(onlyExplicitlyIncluded = true)
 @Entity
+@DynamicUpdate
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "user_operation", schema = "tourem")
@@ -22,14 +28,16 @@ public class UserOperationEntity implements TouremEntity {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(generator = "system-uuid")
-    @GenericGenerator(name = "system-uuid", strategy = "uuid")
+    @ToString.Include
+    @GeneratedValue(generator = "tourem-id")
+    @GenericGenerator(name = "tourem-id", strategy = "com.tourem.dao.ids.TouremIdGenerator")
+    @Type(type = TouremIdTypeContributor.TYPE_NAME)
     private String id;
 
     @Column(name = "operation_name")
     private String operationName;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_role_id")
     private UserRoleEntity userRole;
 
@@ -42,6 +50,10 @@ public class UserOperationEntity implements TouremEntity {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
 
     @PrePersist
     public void prePersist() {
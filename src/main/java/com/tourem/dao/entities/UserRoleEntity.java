@@ -1,10 +1,15 @@
 package com.tourem.dao.entities;
 
+import com.tourem.dao.ids.TouremIdTypeContributor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
 import java.io.Serial;
@@ -12,9 +17,12 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@ToString(onlyExplicitlyIncluded = true)
 @Entity
+@DynamicUpdate
 @NoArgsConstructor
 @AllArgsConstructor
+@BatchSize(size = 50)
 @Table(name = "user_role", schema = "tourem")
 public class UserRoleEntity implements TouremEntity {
 
@@ -22,8 +30,10 @@ public class UserRoleEntity implements TouremEntity {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(generator = "system-uuid")
-    @GenericGenerator(name = "system-uuid", strategy = "uuid")
+    @ToString.Include
+    @GeneratedValue(generator = "tourem-id")
+    @GenericGenerator(name = "tourem-id", strategy = "com.tourem.dao.ids.TouremIdGenerator")
+    @Type(type = TouremIdTypeContributor.TYPE_NAME)
     private String id;
 
     @Column(name = "name")
@@ -38,6 +48,10 @@ public class UserRoleEntity implements TouremEntity {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
 
     @PrePersist
     public void prePersist() {
@@ -0,0 +1,40 @@
+package com.tourem.dao.ids;
+
+import com.google.common.base.Strings;
+
+import java.util.Arrays;
+
+/**
+ * How the ID columns are stored, selected by tourem.persistence.id-storage
+ */
+public enum TouremIdStorage {
+	/** varchar(36) columns */
+	STRING("string"),
+	/** 16-byte uuid columns, see migration-uuid-postgresql.sql to convert an existing database */
+	UUID("uuid");
+
+	private final String value;
+
+	TouremIdStorage(String value) {
+		this.value = value;
+	}
+
+	public String getValue() {
+		return this.value;
+	}
+
+	/**
+	 * Gets the storage matching a configuration value
+	 * @param value configuration value, string when missing
+	 * @return the ID storage
+	 */
+	public static TouremIdStorage fromValue(String value) {
+		if (Strings.isNullOrEmpty(value)) {
+			return STRING;
+		}
+		return Arrays.stream(values())
+			.filter(storage -> storage.value.equalsIgnoreCase(value) || storage.name().equalsIgnoreCase(value))
+			.findFirst()
+			.orElseThrow(() -> new IllegalArgumentException(String.format("Invalid ID storage [%s]", value)));
+	}
+}
@@ -0,0 +1,56 @@
+package com.tourem.dao.ids;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.model.TypeContributions;
+import org.hibernate.boot.model.TypeContributor;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.AbstractSingleColumnStandardBasicType;
+import org.hibernate.type.PostgresUUIDType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.descriptor.sql.VarbinaryTypeDescriptor;
+import org.hibernate.type.descriptor.sql.SqlTypeDescriptor;
+
+/**
+ * Registers the type of the ID columns, named {@value #TYPE_NAME}, according to the configured storage:
+ * strings in varchar columns, or UUIDs in native uuid columns on PostgreSQL and 16-byte varbinary values elsewhere.
+ * The entities keep string IDs either way.
+ */
+@Slf4j
+public class TouremIdTypeContributor implements TypeContributor {
+
+	public static final String TYPE_NAME = "tourem-id";
+
+	private final TouremIdStorage storage;
+
+	public TouremIdTypeContributor(TouremIdStorage storage) {
+		this.storage = storage;
+	}
+
+	@Override
+	public void contribute(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
+		if (this.storage == TouremIdStorage.STRING) {
+			typeContributions.contributeType(StringType.INSTANCE, TYPE_NAME);
+			return;
+		}
+
+		var dialect = serviceRegistry.getService(JdbcServices.class).getDialect();
+		var sqlType = dialect instanceof PostgreSQL81Dialect
+			? PostgresUUIDType.PostgresUUIDSqlTypeDescriptor.INSTANCE
+			: VarbinaryTypeDescriptor.INSTANCE;
+		log.info("Storing the IDs as [{}] UUIDs", dialect instanceof PostgreSQL81Dialect ? "native" : "binary");
+		typeContributions.contributeType(new UuidStringType(sqlType), TYPE_NAME);
+	}
+
+	private static class UuidStringType extends AbstractSingleColumnStandardBasicType<String> {
+		UuidStringType(SqlTypeDescriptor sqlTypeDescriptor) {
+			super(sqlTypeDescriptor, UuidStringJavaTypeDescriptor.INSTANCE);
+		}
+
+		@Override
+		public String getName() {
+			return TYPE_NAME;
+		}
+	}
+}
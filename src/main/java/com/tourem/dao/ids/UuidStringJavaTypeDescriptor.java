@@ -0,0 +1,89 @@
+package com.tourem.dao.ids;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractTypeDescriptor;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the IDs as strings in the entities while they are stored as UUIDs.
+ * Both the canonical form and the 32 hexadecimal digits of the former IDs are accepted. A string which is not
+ * a UUID is bound as the nil UUID, which no row has: looking it up finds nothing, as it did with string IDs.
+ */
+public class UuidStringJavaTypeDescriptor extends AbstractTypeDescriptor<String> {
+
+	public static final UuidStringJavaTypeDescriptor INSTANCE = new UuidStringJavaTypeDescriptor();
+
+	private static final Pattern CANONICAL = Pattern.compile("\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}");
+	private static final Pattern HEXADECIMAL = Pattern.compile("\\p{XDigit}{32}");
+	private static final UUID NIL = new UUID(0, 0);
+
+	private UuidStringJavaTypeDescriptor() {
+		super(String.class);
+	}
+
+	@Override
+	public String fromString(String string) {
+		return string;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+		if (Objects.isNull(value)) {
+			return null;
+		}
+		if (UUID.class.isAssignableFrom(type)) {
+			return (X) toUuid(value);
+		}
+		if (byte[].class.isAssignableFrom(type)) {
+			var uuid = toUuid(value);
+			return (X) ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+		}
+		if (String.class.isAssignableFrom(type)) {
+			return (X) value;
+		}
+		throw unknownUnwrap(type);
+	}
+
+	@Override
+	public <X> String wrap(X value, WrapperOptions options) {
+		if (Objects.isNull(value)) {
+			return null;
+		}
+		if (value instanceof UUID uuid) {
+			return uuid.toString();
+		}
+		if (value instanceof byte[] bytes) {
+			var buffer = ByteBuffer.wrap(bytes);
+			return new UUID(buffer.getLong(), buffer.getLong()).toString();
+		}
+		if (value instanceof String string) {
+			return string;
+		}
+		throw unknownWrap(value.getClass());
+	}
+
+	/**
+	 * Gets the canonical form of an ID, under which the database returns it when stored as a UUID
+	 * @param value ID in any of the accepted forms
+	 * @return the lower-case canonical form of a UUID, the value itself otherwise
+	 */
+	public static String normalize(String value) {
+		var uuid = toUuid(value);
+		return NIL.equals(uuid) ? value : uuid.toString();
+	}
+
+	static UUID toUuid(String value) {
+		if (CANONICAL.matcher(value).matches()) {
+			return UUID.fromString(value);
+		}
+		if (HEXADECIMAL.matcher(value).matches()) {
+			return new UUID(Long.parseUnsignedLong(value.substring(0, 16), 16), Long.parseUnsignedLong(value.substring(16), 16));
+		}
+		return NIL;
+	}
+}
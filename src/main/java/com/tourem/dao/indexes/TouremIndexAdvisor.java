@@ -0,0 +1,190 @@
+package com.tourem.dao.indexes;
+
+import com.tourem.dao.specifications.AbstractTouremQueryBuilder;
+import com.tourem.dao.specifications.TouremCriterion;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Derives the indexes serving the queries of the query builders, and checks which of them exist.
+ * <ul>
+ *     <li>each sort key gets a (sortKey, id) index, which also serves the ranges on the sort key,
+ *     the keyset pagination and the count of a range</li>
+ *     <li>each join gets a (foreignKey, defaultSortKey, id) index, serving the elements of the associated
+ *     element in the default order</li>
+ *     <li>each equality gets an index on its column, and each range on another column a (column, id) index</li>
+ *     <li>each text filter gets a trigram index on PostgreSQL, no other database can serve a contains match,
+ *     except the filters on the fields too large to be indexed</li>
+ * </ul>
+ * The queries only read the live rows: on PostgreSQL the indexes are partial, excluding the soft-deleted rows.
+ * The default sort key is the first one, as used by the cursor pagination.
+ */
+@Component
+public class TouremIndexAdvisor {
+
+	private static final String POSTGRESQL = "PostgreSQL";
+	private static final String DELETED_AT = "deletedAt";
+
+	private final List<AbstractTouremQueryBuilder<?>> queryBuilders;
+	private final EntityManagerFactory entityManagerFactory;
+	private final DataSource dataSource;
+
+	public TouremIndexAdvisor(List<AbstractTouremQueryBuilder<?>> queryBuilders, EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+		this.queryBuilders = queryBuilders;
+		this.entityManagerFactory = entityManagerFactory;
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Derives the indexes of every query builder and checks which of them the database already has
+	 * @return the proposed indexes, by entity
+	 */
+	public List<TouremIndexProposal> advise() {
+		try {
+			return JdbcUtils.extractDatabaseMetaData(this.dataSource, metaData -> {
+				var postgresql = POSTGRESQL.equals(metaData.getDatabaseProductName());
+				var proposals = new ArrayList<TouremIndexProposal>();
+				for (var queryBuilder : this.queryBuilders) {
+					var table = new IndexedTable(persister(queryBuilder.getEntityType()), postgresql);
+					propose(queryBuilder, table);
+					var existing = readIndexes(metaData, table);
+					table.drafts.values().forEach(draft -> proposals.add(draft.toProposal(queryBuilder.getEntityName(), existing)));
+				}
+				return proposals;
+			});
+		} catch (MetaDataAccessException e) {
+			throw new IllegalStateException("Unable to read the indexes of the database", e);
+		}
+	}
+
+	private AbstractEntityPersister persister(Class<?> entityType) {
+		return (AbstractEntityPersister) this.entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+			.getMetamodel()
+			.entityPersister(entityType);
+	}
+
+	private static void propose(AbstractTouremQueryBuilder<?> queryBuilder, IndexedTable table) {
+		var sortKeys = queryBuilder.getSortKeys();
+		for (var sortKey : sortKeys) {
+			var column = table.column(sortKey);
+			if (!column.equals(table.idColumn)) {
+				table.btree(List.of(column, table.idColumn), "sortBy=" + sortKey);
+			}
+		}
+
+		var defaultSortKey = sortKeys.get(0);
+		for (TouremCriterion<?> criterion : queryBuilder.getCriteria()) {
+			var index = criterion.index();
+			var column = table.column(index.field());
+			switch (index.access()) {
+				case EQUALITY -> table.btree(List.of(column), criterion.key());
+				case RANGE -> table.btree(List.of(column, table.idColumn), criterion.key());
+				case JOIN -> table.btree(List.of(column, table.column(defaultSortKey), table.idColumn), criterion.key() + " sorted by " + defaultSortKey);
+				case PATTERN -> table.trigram(index.ignoreCase() ? "lower(" + column + ")" : column, column, criterion.key());
+				case SCAN -> {
+					// the field is too large to be indexed
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the columns of the indexes of a table
+	 * @return the lower-cased columns of each index, by lower-cased name
+	 */
+	private static Map<String, List<String>> readIndexes(DatabaseMetaData metaData, IndexedTable table) throws SQLException {
+		var upperCase = metaData.storesUpperCaseIdentifiers();
+		var schema = upperCase ? table.schema.toUpperCase(Locale.ROOT) : table.schema;
+		var name = upperCase ? table.name.toUpperCase(Locale.ROOT) : table.name;
+
+		// the rows are ordered by index then by position of the column in the index
+		var indexes = new HashMap<String, List<String>>();
+		try (var rs = metaData.getIndexInfo(null, schema, name, false, true)) {
+			while (rs.next()) {
+				var indexName = rs.getString("INDEX_NAME");
+				var column = rs.getString("COLUMN_NAME");
+				if (nonNull(indexName) && nonNull(column)) {
+					indexes.computeIfAbsent(indexName.toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(column.toLowerCase(Locale.ROOT));
+				}
+			}
+		}
+		return indexes;
+	}
+
+	/**
+	 * Table of an entity and the indexes derived for it
+	 */
+	private static class IndexedTable {
+		private final AbstractEntityPersister persister;
+		private final String schema;
+		private final String name;
+		private final String idColumn;
+		private final String liveCondition;
+		private final Map<String, Draft> drafts = new LinkedHashMap<>();
+
+		IndexedTable(AbstractEntityPersister persister, boolean postgresql) {
+			this.persister = persister;
+			var qualifiedName = persister.getTableName();
+			var separator = qualifiedName.lastIndexOf('.');
+			this.schema = separator < 0 ? null : qualifiedName.substring(0, separator);
+			this.name = qualifiedName.substring(separator + 1);
+			this.idColumn = persister.getIdentifierColumnNames()[0];
+			this.liveCondition = postgresql ? " where " + column(DELETED_AT) + " is null" : null;
+		}
+
+		String column(String field) {
+			return this.persister.getPropertyColumnNames(field)[0];
+		}
+
+		void btree(List<String> columns, String reason) {
+			var keyColumns = columns.get(columns.size() - 1).equals(this.idColumn) ? columns.subList(0, columns.size() - 1) : columns;
+			var indexName = "idx_" + this.name + "_" + String.join("_", keyColumns) + (nonNull(this.liveCondition) ? "_live" : "");
+			var ddl = String.format("create index if not exists %s on %s (%s)%s", indexName, this.persister.getTableName(), String.join(", ", columns),
+				nonNull(this.liveCondition) ? this.liveCondition : "");
+			this.drafts.computeIfAbsent(indexName, key -> new Draft(key, columns, true, ddl)).reasons.add(reason);
+		}
+
+		void trigram(String expression, String column, String reason) {
+			if (nonNull(this.liveCondition)) {
+				var indexName = "idx_" + this.name + "_" + column + "_trgm";
+				var ddl = String.format("create index if not exists %s on %s using gin (%s gin_trgm_ops)%s", indexName, this.persister.getTableName(), expression, this.liveCondition);
+				this.drafts.computeIfAbsent(indexName, key -> new Draft(key, List.of(expression), false, ddl)).reasons.add(reason);
+			}
+		}
+	}
+
+	/**
+	 * Index being derived, the criteria served by the same index are merged
+	 */
+	private record Draft(String name, List<String> columns, boolean btree, String ddl, Set<String> reasons) {
+
+		Draft(String name, List<String> columns, boolean btree, String ddl) {
+			this(name, columns, btree, ddl, new LinkedHashSet<>());
+		}
+
+		TouremIndexProposal toProposal(String entity, Map<String, List<String>> existing) {
+			// a B-tree index is served as well by any index starting with its columns, such as a unique constraint
+			var present = existing.containsKey(this.name)
+				|| (this.btree && existing.values().stream().anyMatch(columns -> columns.size() >= this.columns.size() && columns.subList(0, this.columns.size()).equals(this.columns)));
+			return new TouremIndexProposal(entity, this.name, this.columns, String.join(", ", this.reasons), this.ddl, present);
+		}
+	}
+}
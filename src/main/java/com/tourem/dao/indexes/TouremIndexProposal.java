@@ -0,0 +1,15 @@
+package com.tourem.dao.indexes;
+
+import java.util.List;
+
+/**
+ * Index derived from the criteria and the sort keys of a query builder
+ * @param entity name of the entity
+ * @param name name of the index
+ * @param columns indexed columns or expressions, in order
+ * @param reason criteria and sort keys served by the index
+ * @param ddl statement creating the index
+ * @param present true if the database already has this index, or an index starting with the same columns
+ */
+public record TouremIndexProposal(String entity, String name, List<String> columns, String reason, String ddl, boolean present) {
+}
@@ -0,0 +1,120 @@
+package com.tourem.dao.repositories;
+
+import com.tourem.dao.entities.TouremEntity;
+import com.tourem.dao.specifications.TouremCursor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Base class of the Tourem repositories, implementing the queries declared in {@link TouremRepository}
+ * that cannot be expressed with the default Spring Data operations.
+ * @param <E> entity type
+ */
+public class SimpleTouremRepository<E extends TouremEntity> extends SimpleJpaRepository<E, String> {
+
+	private static final String ID = "id";
+
+	private final EntityManager entityManager;
+
+	public SimpleTouremRepository(JpaEntityInformation<E, ?> entityInformation, EntityManager entityManager) {
+		super(entityInformation, entityManager);
+		this.entityManager = entityManager;
+	}
+
+	public Slice<E> findSlice(Specification<E> spec, Pageable pageable) {
+		var query = getQuery(spec, pageable.getSort());
+		if (pageable.isUnpaged()) {
+			return new SliceImpl<>(query.getResultList());
+		}
+
+		// fetch one extra row to know if there is a next slice
+		query.setFirstResult((int) pageable.getOffset());
+		query.setMaxResults(pageable.getPageSize() + 1);
+		var content = query.getResultList();
+		var hasNext = content.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+	}
+
+	/**
+	 * Reads the rows following a cursor position, ordered by the sort key then the ID.
+	 * The rows whose sort key is null come last in both directions, ordered by their ID: once the rows with a sort key
+	 * are exhausted, the page is completed by a second query reading the rows without one.
+	 */
+	public List<E> findAllAfter(Specification<E> spec, TouremCursor cursor, int limit) {
+		var rows = new ArrayList<E>(limit);
+		if (!cursor.isAfterNullSortValue()) {
+			rows.addAll(findAllAfter(spec, cursor, limit, false));
+		}
+		if (rows.size() < limit && !ID.equals(cursor.sortBy())) {
+			rows.addAll(findAllAfter(spec, cursor, limit - rows.size(), true));
+		}
+		return rows;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private List<E> findAllAfter(Specification<E> spec, TouremCursor cursor, int limit, boolean nullSortValues) {
+		CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+		var query = cb.createQuery(getDomainClass());
+		var root = query.from(getDomainClass());
+
+		Path<Comparable> sortKey = root.get(cursor.sortBy());
+		Path<String> id = root.get(ID);
+		var ascending = cursor.direction().isAscending();
+
+		List<Predicate> predicates = new ArrayList<>();
+		if (nonNull(spec)) {
+			var predicate = spec.toPredicate(root, query, cb);
+			if (nonNull(predicate)) {
+				predicates.add(predicate);
+			}
+		}
+
+		if (nullSortValues) {
+			predicates.add(cb.isNull(sortKey));
+			if (cursor.isAfterNullSortValue()) {
+				predicates.add(ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id()));
+			}
+			query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+		} else {
+			if (cursor.hasPosition()) {
+				// (sortKey, id) > (value, id) expanded for the Criteria API, behind a range on the sort key alone
+				// so that the planner seeks the (sortKey, id) index instead of filtering it
+				Comparable value = cursor.sortValue(sortKey.getJavaType());
+				predicates.add(ascending ? cb.greaterThanOrEqualTo(sortKey, value) : cb.lessThanOrEqualTo(sortKey, value));
+				predicates.add(ascending
+					? cb.or(cb.greaterThan(sortKey, value), cb.and(cb.equal(sortKey, value), cb.greaterThan(id, cursor.id())))
+					: cb.or(cb.lessThan(sortKey, value), cb.and(cb.equal(sortKey, value), cb.lessThan(id, cursor.id()))));
+			} else {
+				predicates.add(cb.isNotNull(sortKey));
+			}
+			query.orderBy(ascending ? cb.asc(sortKey) : cb.desc(sortKey), ascending ? cb.asc(id) : cb.desc(id));
+		}
+
+		query.select(root).where(predicates.toArray(new Predicate[0]));
+		return this.entityManager.createQuery(query).setMaxResults(limit).getResultList();
+	}
+
+	public Stream<E> stream(Specification<E> spec, Sort sort, int fetchSize) {
+		return getQuery(spec, sort)
+			.setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+			.setHint(QueryHints.HINT_READONLY, true)
+			.setHint(QueryHints.HINT_CACHEABLE, false)
+			.getResultStream();
+	}
+}
@@ -0,0 +1,71 @@
+package com.tourem.dao.repositories;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.Table;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.OptionalLong;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Reads the row count estimates maintained by the database planner statistics.
+ * The row count of a table includes its soft-deleted rows: it is scaled by the fraction of rows whose deletedAt is null,
+ * both being as of the last ANALYZE of the table.
+ * Only PostgreSQL is supported, other databases return no estimate.
+ */
+@Slf4j
+@Repository
+public class TableStatisticsRepository {
+
+	private static final String POSTGRESQL = "PostgreSQL";
+	private static final String DELETED_AT_COLUMN = "deleted_at";
+	private static final String ESTIMATE_QUERY = """
+		select (c.reltuples * coalesce(
+			(select s.null_frac from pg_stats s where s.schemaname = n.nspname and s.tablename = c.relname and s.attname = ?), 1))::bigint
+		from pg_class c join pg_namespace n on n.oid = c.relnamespace
+		where n.nspname = ? and c.relname = ?""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final DataSource dataSource;
+	private volatile Boolean supported;
+
+	public TableStatisticsRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Estimates the number of live rows of the table of an entity
+	 * @param entityType entity class annotated with {@link Table}
+	 * @return the estimated number of rows which are not soft-deleted, empty when no statistics are available
+	 */
+	public OptionalLong estimateRowCount(Class<?> entityType) {
+		var table = entityType.getAnnotation(Table.class);
+		if (isNull(table) || !isSupported()) {
+			return OptionalLong.empty();
+		}
+		var estimate = this.jdbcTemplate.query(ESTIMATE_QUERY, rs -> rs.next() ? rs.getLong(1) : -1L, DELETED_AT_COLUMN, table.schema(), table.name());
+
+		// tables never analyzed report -1 as of PostgreSQL 14 and 0 before, which the callers tell from an empty table by the rows they read
+		return isNull(estimate) || estimate < 0 ? OptionalLong.empty() : OptionalLong.of(estimate);
+	}
+
+	private boolean isSupported() {
+		if (isNull(this.supported)) {
+			try {
+				String product = JdbcUtils.extractDatabaseMetaData(this.dataSource, DatabaseMetaData::getDatabaseProductName);
+				this.supported = POSTGRESQL.equals(product);
+			} catch (MetaDataAccessException e) {
+				log.debug("Unable to read the database product name", e);
+				this.supported = false;
+			}
+		}
+		return this.supported;
+	}
+}
@@ -1,10 +1,127 @@
 package com.tourem.dao.repositories;
 
 import com.tourem.dao.entities.TouremEntity;
+import com.tourem.dao.specifications.TouremCursor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @NoRepositoryBean
 public interface TouremRepository<E extends TouremEntity> extends JpaRepository<E, String>, JpaSpecificationExecutor<E> {
+	/**
+	 * Deletes a row with a single conditional statement, without loading the entity first
+	 * @param id ID of the row to be deleted
+	 * @return the number of deleted rows
+	 */
+	@Modifying
+	@Query("delete from #{#entityName} e where e.id = :id")
+	int removeById(@Param("id") String id);
+
+	/**
+	 * Deletes many rows with a single statement, without loading the entities first
+	 * @param ids IDs of the rows to be deleted
+	 * @return the number of deleted rows
+	 */
+	@Modifying
+	@Query("delete from #{#entityName} e where e.id in :ids")
+	int removeAllByIdIn(@Param("ids") Collection<String> ids);
+
+	/**
+	 * Soft-deletes a row with a single conditional statement, without loading the entity first
+	 * @param id ID of the row to be soft-deleted
+	 * @param deletedAt deletion time
+	 * @return the number of soft-deleted rows
+	 */
+	@Modifying
+	@Query("update #{#entityName} e set e.deletedAt = :deletedAt, e.version = e.version + 1 where e.id = :id and e.deletedAt is null")
+	int softDeleteById(@Param("id") String id, @Param("deletedAt") LocalDateTime deletedAt);
+
+	/**
+	 * Soft-deletes many rows with a single statement, without loading the entities first
+	 * @param ids IDs of the rows to be soft-deleted
+	 * @param deletedAt deletion time
+	 * @return the number of soft-deleted rows
+	 */
+	@Modifying
+	@Query("update #{#entityName} e set e.deletedAt = :deletedAt, e.version = e.version + 1 where e.id in :ids and e.deletedAt is null")
+	int softDeleteAllByIdIn(@Param("ids") Collection<String> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+	/**
+	 * Finds the IDs of the rows soft-deleted before the given time, oldest first
+	 * @param deletedBefore upper bound of the deletion time
+	 * @param pageable number of IDs to return
+	 * @return the IDs of the soft-deleted rows
+	 */
+	@Query("select e.id from #{#entityName} e where e.deletedAt < :deletedBefore order by e.deletedAt")
+	List<String> findDeletedIds(@Param("deletedBefore") LocalDateTime deletedBefore, Pageable pageable);
+
+	/**
+	 * Finds which of the given IDs exist and are not soft-deleted, without loading the entities
+	 * @param ids IDs to be checked
+	 * @return the existing IDs
+	 */
+	@Query("select e.id from #{#entityName} e where e.id in :ids and e.deletedAt is null")
+	List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+	/**
+	 * Counts the rows which are not soft-deleted
+	 * @return the number of live rows
+	 */
+	@Query("select count(e) from #{#entityName} e where e.deletedAt is null")
+	long countLive();
+
+	/**
+	 * Streams the IDs of the rows which are not soft-deleted, fetched by batches.
+	 * Must be consumed and closed inside a transaction.
+	 * @return the stream of IDs
+	 */
+	@Query("select e.id from #{#entityName} e where e.deletedAt is null")
+	@QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+	Stream<String> streamLiveIds();
+
+	/**
+	 * Finds a slice of rows without counting the total number of matching rows.
+	 * One extra row is fetched to know if there is a next slice.
+	 * @param spec query specification, may be null
+	 * @param pageable page request
+	 * @return the slice of rows
+	 */
+	Slice<E> findSlice(Specification<E> spec, Pageable pageable);
+
+	/**
+	 * Finds the rows following a keyset pagination cursor, ordered by the cursor sort key then by ID.
+	 * No count query is issued.
+	 * @param spec query specification, may be null
+	 * @param cursor position of the last row of the previous page
+	 * @param limit maximum number of rows to return
+	 * @return the rows following the cursor
+	 */
+	List<E> findAllAfter(Specification<E> spec, TouremCursor cursor, int limit);
+
+	/**
+	 * Streams the matching rows through a forward-only cursor, fetching them by batches of the given size.
+	 * Must be consumed and closed inside a transaction.
+	 * @param spec query specification, may be null
+	 * @param sort sort of the rows
+	 * @param fetchSize number of rows fetched per round-trip
+	 * @return the stream of rows, read-only
+	 */
+	Stream<E> stream(Specification<E> spec, Sort sort, int fetchSize);
 }
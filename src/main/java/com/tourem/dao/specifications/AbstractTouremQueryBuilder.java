@@ -0,0 +1,147 @@
+package com.tourem.dao.specifications;
+
+import com.google.common.base.Strings;
+import com.tourem.dao.entities.TouremEntity;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Predicate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Query builder declared as a list of criteria.
+ * Each distinct shape of request, that is the set of criteria it carries, is planned once: the plan keeps
+ * the criteria to be applied, and a request only parses its values and binds them to the plan.
+ * Hibernate binds the values as parameters (hibernate.criteria.literal_handling_mode=bind), so that all the
+ * requests of a shape render the same query and share one entry of its query plan cache.
+ * The soft-deleted rows are excluded from every specification.
+ * The criteria and the sort keys are also read by TouremIndexAdvisor, which derives the indexes serving them.
+ * @param <E> entity type
+ */
+public abstract class AbstractTouremQueryBuilder<E extends TouremEntity> implements TouremQueryBuilder<E> {
+
+	private static final int MAX_CRITERIA = Long.SIZE;
+	private static final String DELETED_AT = "deletedAt";
+	private static final List<String> SORT_KEYS = List.of("createdAt", "updatedAt", "id");
+
+	private final Class<E> entityType;
+	private final String entityName;
+	private final transient List<TouremCriterion<E>> criteria;
+	private final transient Map<Long, QueryPlan<E>> plans = new ConcurrentHashMap<>();
+	private final AtomicLong planHits = new AtomicLong();
+	private final AtomicLong planMisses = new AtomicLong();
+
+	@SuppressWarnings("unchecked")
+	protected AbstractTouremQueryBuilder(List<TouremCriterion<E>> criteria) {
+		if (criteria.size() > MAX_CRITERIA) {
+			throw new IllegalStateException(String.format("A query builder supports at most %d criteria", MAX_CRITERIA));
+		}
+		this.criteria = List.copyOf(criteria);
+		this.entityType = (Class<E>) Objects.requireNonNull(GenericTypeResolver.resolveTypeArgument(getClass(), AbstractTouremQueryBuilder.class));
+		this.entityName = this.entityType.getSimpleName();
+	}
+
+	@Override
+	public Specification<E> buildQuerySpecification(Map<String, String> params) {
+		long shape = 0;
+		for (int i = 0; i < this.criteria.size(); i++) {
+			if (!Strings.isNullOrEmpty(params.get(this.criteria.get(i).key()))) {
+				shape |= 1L << i;
+			}
+		}
+
+		var plan = this.plans.get(shape);
+		if (Objects.isNull(plan)) {
+			this.planMisses.incrementAndGet();
+			plan = this.plans.computeIfAbsent(shape, this::createPlan);
+		} else {
+			this.planHits.incrementAndGet();
+		}
+		return plan.bind(params);
+	}
+
+	/**
+	 * Excludes the soft-deleted rows
+	 * @param <E> entity type
+	 * @return the specification of the live rows
+	 */
+	public static <E extends TouremEntity> Specification<E> notDeleted() {
+		return (root, query, criteriaBuilder) -> criteriaBuilder.isNull(root.get(DELETED_AT));
+	}
+
+	/**
+	 * Gets the indexed fields the elements are sorted by: the creation and update dates, and the ID
+	 * @return the names of the sort keys
+	 */
+	@Override
+	public List<String> getSortKeys() {
+		return SORT_KEYS;
+	}
+
+	public Class<E> getEntityType() {
+		return this.entityType;
+	}
+
+	public String getEntityName() {
+		return this.entityName;
+	}
+
+	public List<TouremCriterion<E>> getCriteria() {
+		return this.criteria;
+	}
+
+	/**
+	 * Gets the number of planned shapes
+	 * @return the size of the plan cache
+	 */
+	public int getPlanCount() {
+		return this.plans.size();
+	}
+
+	public long getPlanHits() {
+		return this.planHits.get();
+	}
+
+	public long getPlanMisses() {
+		return this.planMisses.get();
+	}
+
+	@SuppressWarnings("unchecked")
+	private QueryPlan<E> createPlan(long shape) {
+		var applied = IntStream.range(0, this.criteria.size())
+			.filter(i -> (shape & (1L << i)) != 0)
+			.mapToObj(this.criteria::get)
+			.toArray(TouremCriterion[]::new);
+		return new QueryPlan<>(applied);
+	}
+
+	/**
+	 * Criteria applied to one shape of request
+	 */
+	private record QueryPlan<E extends TouremEntity>(TouremCriterion<E>[] criteria) {
+
+		Specification<E> bind(Map<String, String> params) {
+			if (this.criteria.length == 0) {
+				return notDeleted();
+			}
+
+			var values = new Object[this.criteria.length];
+			for (int i = 0; i < this.criteria.length; i++) {
+				values[i] = this.criteria[i].parser().apply(params.get(this.criteria[i].key()), params);
+			}
+			return (root, query, criteriaBuilder) -> {
+				var predicates = new Predicate[this.criteria.length + 1];
+				for (int i = 0; i < this.criteria.length; i++) {
+					predicates[i] = this.criteria[i].predicate().toPredicate(root, criteriaBuilder, values[i]);
+				}
+				predicates[this.criteria.length] = criteriaBuilder.isNull(root.get(DELETED_AT));
+				return criteriaBuilder.and(predicates);
+			};
+		}
+	}
+}
@@ -2,15 +2,14 @@ package com.tourem.dao.specifications;
 
 import com.tourem.annotations.TouremSpecification;
 import com.tourem.dao.entities.ImageUrlEntity;
-import org.springframework.data.jpa.domain.Specification;
 
-import java.util.Map;
+import java.util.List;
 
 @TouremSpecification
-public class ImageUrlQueryBuilder implements TouremQueryBuilder<ImageUrlEntity> {
+public class ImageUrlQueryBuilder extends AbstractTouremQueryBuilder<ImageUrlEntity> {
 	private static final String URL = "url";
-	@Override
-	public Specification<ImageUrlEntity> buildQuerySpecification(Map<String, String> params) {
-		return Specification.where(containsExpression(URL, params.get(URL)));
+
+	public ImageUrlQueryBuilder() {
+		super(List.of(TouremCriterion.contains(URL, URL)));
 	}
 }
@@ -0,0 +1,169 @@
+package com.tourem.dao.specifications;
+
+import com.google.common.base.Strings;
+import com.tourem.dao.entities.TouremEntity;
+import com.tourem.exceptions.InvalidRequestException;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Declares one filter of a query builder: the request criteria it reads, how its value is parsed
+ * and the predicate it adds to the query.
+ * @param key name of the request criteria
+ * @param index how the criteria reads the table, used to advise its indexes
+ * @param parser parses the value of the criteria, once per request, given all the criteria of the request
+ * @param predicate creates the predicate from the parsed value
+ * @param <E> entity type
+ */
+public record TouremCriterion<E extends TouremEntity>(String key, IndexUse index, BiFunction<String, Map<String, String>, Object> parser, PredicateFactory<E> predicate) {
+
+	private static final char LIKE_ESCAPE = '\\';
+
+	@FunctionalInterface
+	public interface PredicateFactory<E> {
+		Predicate toPredicate(Root<E> root, CriteriaBuilder criteriaBuilder, Object value);
+	}
+
+	/**
+	 * Kind of predicate a criteria adds on a field
+	 */
+	public enum Access {
+		/** equality, served by a B-tree index on the field */
+		EQUALITY,
+		/** lower or upper bound, served by a B-tree index on the field */
+		RANGE,
+		/** LIKE pattern, only served by a trigram index when it is not anchored */
+		PATTERN,
+		/** join on an association, served by an index on its foreign key */
+		JOIN,
+		/** LIKE pattern on a field too large to be indexed, read from the rows selected by the other filters */
+		SCAN
+	}
+
+	/**
+	 * Field read by a criteria and how it is read
+	 * @param field name of the entity field, or of the association for a join
+	 * @param access kind of predicate
+	 * @param ignoreCase true if the predicate compares lower(field)
+	 */
+	public record IndexUse(String field, Access access, boolean ignoreCase) {
+	}
+
+	/**
+	 * Filters the elements whose field matches the value.
+	 * The match and ignoreCase criteria of the request override the default match mode and case sensitivity.
+	 */
+	public static <E extends TouremEntity> TouremCriterion<E> text(String key, TouremMatchMode defaultMode, boolean ignoreCase, String fieldName) {
+		return new TouremCriterion<>(key, new IndexUse(fieldName, Access.PATTERN, ignoreCase), (value, params) -> TextMatch.of(value, params, defaultMode, ignoreCase),
+			(root, cb, value) -> ((TextMatch) value).toPredicate(cb, root.get(fieldName)));
+	}
+
+	/**
+	 * Filters the elements whose associated element has one of the fields matching the value.
+	 * The match and ignoreCase criteria of the request override the default match mode and case sensitivity.
+	 */
+	public static <E extends TouremEntity> TouremCriterion<E> textUsingJoin(String key, TouremMatchMode defaultMode, boolean ignoreCase, String fieldName, String... innerFieldNames) {
+		return new TouremCriterion<>(key, new IndexUse(fieldName, Access.JOIN, ignoreCase), (value, params) -> TextMatch.of(value, params, defaultMode, ignoreCase), (root, cb, value) -> {
+			var join = root.join(fieldName);
+			var predicates = Arrays.stream(innerFieldNames)
+				.map(innerFieldName -> ((TextMatch) value).toPredicate(cb, join.get(innerFieldName)))
+				.toArray(Predicate[]::new);
+			return predicates.length == 1 ? predicates[0] : cb.or(predicates);
+		});
+	}
+
+	/**
+	 * Filters the elements whose field contains the value, case-sensitive unless the request asks otherwise
+	 */
+	public static <E extends TouremEntity> TouremCriterion<E> contains(String key, String fieldName) {
+		return text(key, TouremMatchMode.CONTAINS, false, fieldName);
+	}
+
+	/**
+	 * Filters the elements whose large text field contains the value, without an index: a trigram index on the field
+	 * would be larger than the table and slow down every write, the words of the field being served by the full-text search
+	 */
+	public static <E extends TouremEntity> TouremCriterion<E> containsWithoutIndex(String key, String fieldName) {
+		TouremCriterion<E> criterion = contains(key, fieldName);
+		return new TouremCriterion<>(key, new IndexUse(fieldName, Access.SCAN, false), criterion.parser(), criterion.predicate());
+	}
+
+	/**
+	 * Filters the elements whose field equals the value, whatever the match criteria of the request
+	 */
+	public static <E extends TouremEntity> TouremCriterion<E> equalTo(String key, String fieldName) {
+		return new TouremCriterion<>(key, new IndexUse(fieldName, Access.EQUALITY, false), (value, params) -> value, (root, cb, value) -> cb.equal(root.get(fieldName), value));
+	}
+
+	/**
+	 * Filters the elements whose date field is at or after the value
+	 */
+	public static <E extends TouremEntity> TouremCriterion<E> dateFrom(String key, String fieldName) {
+		return new TouremCriterion<>(key, new IndexUse(fieldName, Access.RANGE, false), (value, params) -> parseDate(key, value), (root, cb, value) -> cb.greaterThanOrEqualTo(root.get(fieldName), (LocalDateTime) value));
+	}
+
+	/**
+	 * Filters the elements whose date field is at or before the value
+	 */
+	public static <E extends TouremEntity> TouremCriterion<E> dateTo(String key, String fieldName) {
+		return new TouremCriterion<>(key, new IndexUse(fieldName, Access.RANGE, false), (value, params) -> parseDate(key, value), (root, cb, value) -> cb.lessThanOrEqualTo(root.get(fieldName), (LocalDateTime) value));
+	}
+
+	private static Object parseDate(String key, String value) {
+		try {
+			return LocalDateTime.parse(value);
+		} catch (DateTimeParseException e) {
+			throw new InvalidRequestException(String.format("Invalid date [%s] for criteria [%s]", value, key), e);
+		}
+	}
+
+	/**
+	 * Parsed value of a text criteria
+	 */
+	private record TextMatch(TouremMatchMode mode, boolean ignoreCase, String value) {
+
+		static TextMatch of(String value, Map<String, String> params, TouremMatchMode defaultMode, boolean defaultIgnoreCase) {
+			var mode = TouremMatchMode.fromValue(params.get(TouremMatchMode.MATCH_CRITERIA), defaultMode);
+			var ignoreCase = parseIgnoreCase(params.get(TouremMatchMode.IGNORE_CASE_CRITERIA), defaultIgnoreCase);
+			var normalized = ignoreCase ? value.toLowerCase(Locale.ROOT) : value;
+			return switch (mode) {
+				case EXACT -> new TextMatch(mode, ignoreCase, normalized);
+				case PREFIX -> new TextMatch(mode, ignoreCase, escapeLike(normalized) + "%");
+				case CONTAINS -> new TextMatch(mode, ignoreCase, "%" + escapeLike(normalized) + "%");
+			};
+		}
+
+		Predicate toPredicate(CriteriaBuilder cb, Expression<String> field) {
+			var expression = this.ignoreCase ? cb.lower(field) : field;
+			return this.mode == TouremMatchMode.EXACT
+				? cb.equal(expression, this.value)
+				: cb.like(expression, this.value, LIKE_ESCAPE);
+		}
+
+		private static boolean parseIgnoreCase(String value, boolean defaultIgnoreCase) {
+			if (Strings.isNullOrEmpty(value)) {
+				return defaultIgnoreCase;
+			}
+			if (!Boolean.TRUE.toString().equalsIgnoreCase(value) && !Boolean.FALSE.toString().equalsIgnoreCase(value)) {
+				throw new InvalidRequestException(String.format("Invalid ignoreCase value [%s]", value));
+			}
+			return Boolean.parseBoolean(value);
+		}
+
+		private static String escapeLike(String value) {
+			return value
+				.replace(String.valueOf(LIKE_ESCAPE), String.valueOf(LIKE_ESCAPE) + LIKE_ESCAPE)
+				.replace("%", LIKE_ESCAPE + "%")
+				.replace("_", LIKE_ESCAPE + "_");
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.tourem.dao.specifications;
+
+import com.tourem.exceptions.InvalidRequestException;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Position of a keyset (seek) pagination: the sort key, the sort direction and the
+ * {@code (sortValue, id)} pair of the last row returned by the previous page.
+ * The rows whose sort key is null come after the other ones, a null sort value with an ID positioning the cursor among them.
+ * Its encoded form is the opaque {@code cursor} exchanged with the API clients.
+ */
+public record TouremCursor(String sortBy, Sort.Direction direction, String sortValue, String id) {
+
+	private static final String SEPARATOR = ".";
+	/** encoded null part, outside of the URL-safe Base64 alphabet */
+	private static final String NULL_PART = "~";
+
+	/**
+	 * Creates the cursor of the first page
+	 * @param sortBy sort key
+	 * @param direction sort direction
+	 * @return cursor positioned before the first row
+	 */
+	public static TouremCursor first(String sortBy, Sort.Direction direction) {
+		return new TouremCursor(sortBy, direction, null, null);
+	}
+
+	/**
+	 * Tells if the cursor points after a row or at the beginning of the results
+	 * @return true if the cursor has a position
+	 */
+	public boolean hasPosition() {
+		return nonNull(this.id);
+	}
+
+	/**
+	 * Tells if the cursor points after a row whose sort key is null
+	 * @return true if the next rows are the remaining ones without a sort key
+	 */
+	public boolean isAfterNullSortValue() {
+		return hasPosition() && isNull(this.sortValue);
+	}
+
+	/**
+	 * Converts the sort value to the type of the sort key
+	 * @param type type of the sort key
+	 * @return the typed sort value
+	 */
+	@SuppressWarnings("rawtypes")
+	public Comparable sortValue(Class<?> type) {
+		try {
+			if (LocalDateTime.class.equals(type)) {
+				return LocalDateTime.parse(this.sortValue);
+			}
+			return (Comparable) DefaultConversionService.getSharedInstance().convert(this.sortValue, type);
+		} catch (DateTimeParseException | ConversionException e) {
+			throw new InvalidRequestException(String.format("Invalid cursor position [%s]", this.sortValue), e);
+		}
+	}
+
+	/**
+	 * Creates the cursor following a row
+	 * @param sortValue value of the sort key of the row, null when the row has none
+	 * @param id ID of the row
+	 * @return cursor positioned after the row
+	 */
+	public TouremCursor next(String sortValue, String id) {
+		return new TouremCursor(this.sortBy, this.direction, sortValue, id);
+	}
+
+	/**
+	 * Encodes the cursor to its opaque string form
+	 * @return the encoded cursor
+	 */
+	public String encode() {
+		return String.join(SEPARATOR, encodePart(this.sortBy), this.direction.name(), encodePart(this.sortValue), encodePart(this.id));
+	}
+
+	/**
+	 * Decodes a cursor from its opaque string form
+	 * @param cursor encoded cursor
+	 * @return the decoded cursor
+	 */
+	public static TouremCursor decode(String cursor) {
+		var parts = cursor.split("\\" + SEPARATOR, -1);
+		// only the sort value may be null
+		if (parts.length != 4 || NULL_PART.equals(parts[0])) {
+			throw new InvalidRequestException(String.format("Invalid cursor [%s]", cursor));
+		}
+		try {
+			return new TouremCursor(decodePart(parts[0]), Sort.Direction.valueOf(parts[1]), decodePart(parts[2]), decodePart(parts[3]));
+		} catch (IllegalArgumentException e) {
+			throw new InvalidRequestException(String.format("Invalid cursor [%s]", cursor), e);
+		}
+	}
+
+	private static String encodePart(String part) {
+		if (isNull(part)) {
+			return NULL_PART;
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(part.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String decodePart(String part) {
+		if (NULL_PART.equals(part)) {
+			return null;
+		}
+		return new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+	}
+}
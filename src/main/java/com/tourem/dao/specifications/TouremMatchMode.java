@@ -0,0 +1,49 @@
+package com.tourem.dao.specifications;
+
+import com.google.common.base.Strings;
+import com.tourem.exceptions.InvalidRequestException;
+
+import java.util.Arrays;
+
+/**
+ * How the value of a text criteria is matched, selected for a request by the match parameter.
+ * The prefix and contains modes are served by the trigram indexes of schema-postgresql.sql,
+ * the exact and prefix modes by B-tree indexes as well.
+ */
+public enum TouremMatchMode {
+	/** the field equals the value */
+	EXACT("exact"),
+	/** the field starts with the value */
+	PREFIX("prefix"),
+	/** the field contains the value */
+	CONTAINS("contains");
+
+	public static final String MATCH_CRITERIA = "match";
+	public static final String IGNORE_CASE_CRITERIA = "ignoreCase";
+
+	private final String value;
+
+	TouremMatchMode(String value) {
+		this.value = value;
+	}
+
+	public String getValue() {
+		return this.value;
+	}
+
+	/**
+	 * Gets the mode matching the value of the match request parameter
+	 * @param value request parameter value
+	 * @param defaultMode mode used when the parameter is missing
+	 * @return the match mode
+	 */
+	public static TouremMatchMode fromValue(String value, TouremMatchMode defaultMode) {
+		if (Strings.isNullOrEmpty(value)) {
+			return defaultMode;
+		}
+		return Arrays.stream(values())
+			.filter(mode -> mode.value.equalsIgnoreCase(value) || mode.name().equalsIgnoreCase(value))
+			.findFirst()
+			.orElseThrow(() -> new InvalidRequestException(String.format("Invalid match value [%s]", value)));
+	}
+}
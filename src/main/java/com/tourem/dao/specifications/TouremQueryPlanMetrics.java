@@ -0,0 +1,42 @@
+package com.tourem.dao.specifications;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes the size of the plan cache of each query builder, as tourem.query.plans,
+ * and its lookups, as tourem.query.plan.lookups tagged with the hit or miss result
+ */
+@Component
+public class TouremQueryPlanMetrics implements MeterBinder {
+
+	private final List<AbstractTouremQueryBuilder<?>> queryBuilders;
+
+	public TouremQueryPlanMetrics(List<AbstractTouremQueryBuilder<?>> queryBuilders) {
+		this.queryBuilders = queryBuilders;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (var queryBuilder : this.queryBuilders) {
+			var entity = queryBuilder.getEntityName();
+			Gauge.builder("tourem.query.plans", queryBuilder, AbstractTouremQueryBuilder::getPlanCount)
+				.description("Number of planned shapes of criteria")
+				.tag("entity", entity)
+				.register(registry);
+			FunctionCounter.builder("tourem.query.plan.lookups", queryBuilder, AbstractTouremQueryBuilder::getPlanHits)
+				.description("Lookups of the plan of a shape of criteria")
+				.tags("entity", entity, "result", "hit")
+				.register(registry);
+			FunctionCounter.builder("tourem.query.plan.lookups", queryBuilder, AbstractTouremQueryBuilder::getPlanMisses)
+				.description("Lookups of the plan of a shape of criteria")
+				.tags("entity", entity, "result", "miss")
+				.register(registry);
+		}
+	}
+}
@@ -2,17 +2,15 @@ package com.tourem.dao.specifications;
 
 import com.tourem.annotations.TouremSpecification;
 import com.tourem.dao.entities.UserRoleEntity;
-import org.springframework.data.jpa.domain.Specification;
 
-import java.util.Map;
+import java.util.List;
 
 @TouremSpecification
-public class UserRoleQueryBuilder implements TouremQueryBuilder<UserRoleEntity> {
+public class UserRoleQueryBuilder extends AbstractTouremQueryBuilder<UserRoleEntity> {
 
 	private static final String USER_ROLE = "name";
 
-	@Override
-	public Specification<UserRoleEntity> buildQuerySpecification(Map<String, String> params) {
-		return Specification.where(containsExpression(USER_ROLE, params.get(USER_ROLE)));
+	public UserRoleQueryBuilder() {
+		super(List.of(TouremCriterion.text(USER_ROLE, TouremMatchMode.CONTAINS, true, USER_ROLE)));
 	}
 }
@@ -0,0 +1,42 @@
+package com.tourem.datasource;
+
+import com.google.common.base.Strings;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Binds the client of the request to the thread for the {@link ReadYourWritesTracker}.
+ * The client is identified by the client ID header, or else by its HTTP session, or else by its address.
+ * The clients sharing an address, as they do behind a load balancer or a proxy, are then pinned to the primary
+ * together: their reads lose some offloading, never their own writes.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		ReadYourWritesTracker.bindClient(clientOf(request));
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			ReadYourWritesTracker.unbindClient();
+		}
+	}
+
+	private static String clientOf(HttpServletRequest request) {
+		var clientId = request.getHeader(CLIENT_ID_HEADER);
+		if (!Strings.isNullOrEmpty(clientId)) {
+			return clientId;
+		}
+		var session = request.getSession(false);
+		return isNull(session) ? request.getRemoteAddr() : session.getId();
+	}
+}
@@ -0,0 +1,81 @@
+package com.tourem.datasource;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Remembers the clients which recently wrote to the primary, so that their reads are served by the primary
+ * until the replicas have caught up. The client of the current request is bound to the thread by the
+ * {@link ReadYourWritesFilter}.
+ */
+public class ReadYourWritesTracker {
+
+	private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+	private final Cache<String, Boolean> recentWriters;
+	private final boolean enabled;
+
+	/**
+	 * @param window how long the reads of a client go to the primary after its last write, disabled when zero
+	 * @param maximumClients maximum number of clients tracked at once
+	 */
+	public ReadYourWritesTracker(Duration window, long maximumClients) {
+		this.enabled = !window.isZero() && !window.isNegative();
+		this.recentWriters = CacheBuilder.newBuilder()
+			.expireAfterWrite(this.enabled ? window : Duration.ZERO)
+			.maximumSize(maximumClients)
+			.build();
+	}
+
+	public static void bindClient(String client) {
+		CURRENT_CLIENT.set(client);
+	}
+
+	public static void unbindClient() {
+		CURRENT_CLIENT.remove();
+	}
+
+	/**
+	 * Records a write of the current client, once its transaction has committed, so that a rolled back
+	 * transaction does not pin the client to the primary
+	 */
+	public void recordWrite() {
+		var client = CURRENT_CLIENT.get();
+		if (!this.enabled || isNull(client)) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.recentWriters.put(client, Boolean.TRUE);
+			return;
+		}
+		if (TransactionSynchronizationManager.hasResource(this)) {
+			return;
+		}
+		TransactionSynchronizationManager.bindResource(this, client);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				recentWriters.put(client, Boolean.TRUE);
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+			}
+		});
+	}
+
+	/**
+	 * @return true when the current client wrote within the window
+	 */
+	public boolean isPinnedToPrimary() {
+		var client = CURRENT_CLIENT.get();
+		return this.enabled && !isNull(client) && !isNull(this.recentWriters.getIfPresent(client));
+	}
+}
@@ -0,0 +1,75 @@
+package com.tourem.datasource;
+
+import com.google.common.base.Strings;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * How read-only transactions are spread over the replicas
+ */
+public enum ReplicaBalancing {
+	/** each replica in turn */
+	ROUND_ROBIN("round-robin") {
+		@Override
+		int select(List<HikariDataSource> replicas, AtomicInteger counter) {
+			return Math.floorMod(counter.getAndIncrement(), replicas.size());
+		}
+	},
+	/** the replica whose pool has the fewest active connections */
+	LEAST_CONNECTIONS("least-connections") {
+		@Override
+		int select(List<HikariDataSource> replicas, AtomicInteger counter) {
+			// rotate the starting point so that ties do not always go to the first replica
+			var start = Math.floorMod(counter.getAndIncrement(), replicas.size());
+			var selected = start;
+			var fewest = Integer.MAX_VALUE;
+			for (int i = 0; i < replicas.size(); i++) {
+				var candidate = (start + i) % replicas.size();
+				var active = activeConnections(replicas.get(candidate));
+				if (active < fewest) {
+					fewest = active;
+					selected = candidate;
+				}
+			}
+			return selected;
+		}
+	};
+
+	private final String value;
+
+	ReplicaBalancing(String value) {
+		this.value = value;
+	}
+
+	/**
+	 * Selects the replica of the next read-only transaction
+	 * @param replicas replica pools
+	 * @param counter number of selections made so far
+	 * @return the index of the selected replica
+	 */
+	abstract int select(List<HikariDataSource> replicas, AtomicInteger counter);
+
+	private static int activeConnections(HikariDataSource replica) {
+		// the pool MXBean is only available once the pool has been started
+		var pool = replica.getHikariPoolMXBean();
+		return pool == null ? 0 : pool.getActiveConnections();
+	}
+
+	/**
+	 * Gets the balancing matching the value of the configuration property
+	 * @param value configuration value, round-robin when missing
+	 * @return the replica balancing
+	 */
+	public static ReplicaBalancing fromValue(String value) {
+		if (Strings.isNullOrEmpty(value)) {
+			return ROUND_ROBIN;
+		}
+		return Arrays.stream(values())
+			.filter(balancing -> balancing.value.equalsIgnoreCase(value))
+			.findFirst()
+			.orElseThrow(() -> new IllegalArgumentException(String.format("Invalid replica balancing [%s]", value)));
+	}
+}
@@ -0,0 +1,97 @@
+package com.tourem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary.
+ * The reads served by a replica are tracked, so that the caches are not filled with a state lagging behind the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so that the
+ * connection is only fetched once the transaction has been flagged read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	private static final String PRIMARY = "primary";
+	private static final String REPLICA = "replica-";
+	private static final String REPLICA_TRANSACTION = ReplicaRoutingDataSource.class.getName() + ".replica";
+	private static final ThreadLocal<Long> REPLICA_READS = ThreadLocal.withInitial(() -> 0L);
+
+	private final List<HikariDataSource> replicas;
+	private final ReplicaBalancing balancing;
+	private final ReadYourWritesTracker readYourWrites;
+	private final AtomicInteger counter = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, ReplicaBalancing balancing, ReadYourWritesTracker readYourWrites) {
+		this.replicas = List.copyOf(replicas);
+		this.balancing = balancing;
+		this.readYourWrites = readYourWrites;
+
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < this.replicas.size(); i++) {
+			targets.put(REPLICA + i, this.replicas.get(i));
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		var readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+			&& TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+		if (!readOnly) {
+			if (TransactionSynchronizationManager.isActualTransactionActive()) {
+				this.readYourWrites.recordWrite();
+			}
+			return PRIMARY;
+		}
+		if (this.replicas.isEmpty() || this.readYourWrites.isPinnedToPrimary()) {
+			return PRIMARY;
+		}
+
+		var key = REPLICA + this.balancing.select(this.replicas, this.counter);
+		log.debug("Routing read-only transaction to [{}]", key);
+		recordReplicaRead(key);
+		return key;
+	}
+
+	/**
+	 * Gets the number of connections fetched from a replica by the current thread, compared before and after
+	 * a computation to know if it read from a replica
+	 * @return the number of connections fetched from a replica
+	 */
+	public static long replicaReads() {
+		return REPLICA_READS.get();
+	}
+
+	/**
+	 * @return true when the current transaction reads from a replica
+	 */
+	public static boolean isTransactionOnReplica() {
+		return TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION);
+	}
+
+	private static void recordReplicaRead(String key) {
+		REPLICA_READS.set(REPLICA_READS.get() + 1);
+		if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION)) {
+			TransactionSynchronizationManager.bindResource(REPLICA_TRANSACTION, key);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_TRANSACTION);
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.tourem.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Statements run while serving one request, counted per SQL to find the statements repeated by an N+1.
+ * Only used by the thread of its request.
+ */
+public class RequestStatements {
+
+	private final Map<String, Integer> counts = new HashMap<>();
+	private int count;
+
+	void record(String sql) {
+		this.count++;
+		this.counts.merge(String.valueOf(sql), 1, Integer::sum);
+	}
+
+	public int getCount() {
+		return this.count;
+	}
+
+	public int getDistinctCount() {
+		return this.counts.size();
+	}
+
+	/**
+	 * @return the statement run the most times, with its count
+	 */
+	public Optional<Map.Entry<String, Integer>> getMostRepeated() {
+		return this.counts.entrySet().stream().max(Map.Entry.comparingByValue());
+	}
+}
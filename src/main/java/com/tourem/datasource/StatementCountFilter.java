@@ -0,0 +1,59 @@
+package com.tourem.datasource;
+
+import com.tourem.metrics.TouremMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Counts the statements run by each request, in the tourem.request.statements summary tagged by entity and operation.
+ * A request running more statements than the warning threshold is logged with its most repeated statement,
+ * which points at the association loaded one row at a time by an N+1.
+ */
+@Slf4j
+public class StatementCountFilter extends OncePerRequestFilter {
+
+	private final int warningThreshold;
+	private final TouremMetrics metrics;
+
+	/**
+	 * @param warningThreshold number of statements from which a request is logged, disabled when 0
+	 * @param metrics metrics of the operations, may be null
+	 */
+	public StatementCountFilter(int warningThreshold, TouremMetrics metrics) {
+		this.warningThreshold = warningThreshold;
+		this.metrics = metrics;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		var statements = StatementObserver.bindRequest();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			StatementObserver.unbindRequest();
+			report(request, statements);
+		}
+	}
+
+	private void report(HttpServletRequest request, RequestStatements statements) {
+		var handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+		if (!isNull(this.metrics)) {
+			this.metrics.recordRequestStatements(handler, statements.getCount());
+		}
+		if (this.warningThreshold > 0 && statements.getCount() >= this.warningThreshold) {
+			statements.getMostRepeated().ifPresent(mostRepeated -> log.warn(
+				"Request [{} {}] ran [{}] statements, [{}] distinct, the most repeated [{}] times: {}",
+				request.getMethod(), request.getRequestURI(), statements.getCount(), statements.getDistinctCount(),
+				mostRepeated.getValue(), mostRepeated.getKey()));
+		}
+	}
+}
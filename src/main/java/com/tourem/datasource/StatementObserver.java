@@ -0,0 +1,151 @@
+package com.tourem.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Receives the statements timed by the {@link StatementObservingDataSource}: times them in the tourem.sql.statement
+ * timer tagged by kind of statement, logs the slow ones with their bound parameters and their {@link StatementOrigin},
+ * and counts them in the {@link RequestStatements} of the current request.
+ */
+@Slf4j
+public class StatementObserver {
+
+	public static final String STATEMENT_TIMER = "tourem.sql.statement";
+	private static final ThreadLocal<RequestStatements> CURRENT_REQUEST = new ThreadLocal<>();
+
+	private final long slowThresholdNanos;
+	private final int maxParameterLength;
+	private final MeterRegistry registry;
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+	private final LongAdder statements = new LongAdder();
+	private final LongAdder slowStatements = new LongAdder();
+
+	/**
+	 * @param slowThreshold duration from which a statement is logged, disabled when zero
+	 * @param maxParameterLength length from which the logged parameters are truncated
+	 * @param registry registry of the statement timers, may be null
+	 */
+	public StatementObserver(Duration slowThreshold, int maxParameterLength, MeterRegistry registry) {
+		this.slowThresholdNanos = slowThreshold.isNegative() ? 0 : slowThreshold.toNanos();
+		this.maxParameterLength = maxParameterLength;
+		this.registry = registry;
+	}
+
+	/**
+	 * Binds the statements of a request to the current thread
+	 * @return the statements of the request, counted until {@link #unbindRequest()}
+	 */
+	public static RequestStatements bindRequest() {
+		var requestStatements = new RequestStatements();
+		CURRENT_REQUEST.set(requestStatements);
+		return requestStatements;
+	}
+
+	public static void unbindRequest() {
+		CURRENT_REQUEST.remove();
+	}
+
+	/**
+	 * Records an executed statement
+	 * @param sql executed SQL, null when unknown
+	 * @param parameters parameters bound to the statement, by index, the last row of a batch
+	 * @param nanos execution time
+	 * @param batchSize number of rows of the batch, 0 when not batched
+	 */
+	public void onStatement(String sql, Map<Integer, Object> parameters, long nanos, int batchSize) {
+		this.statements.increment();
+		if (!isNull(this.registry)) {
+			timer(kind(sql)).record(nanos, TimeUnit.NANOSECONDS);
+		}
+
+		var requestStatements = CURRENT_REQUEST.get();
+		if (!isNull(requestStatements)) {
+			requestStatements.record(sql);
+		}
+
+		if (this.slowThresholdNanos > 0 && nanos >= this.slowThresholdNanos) {
+			this.slowStatements.increment();
+			log.warn("Slow statement [{} ms] from [{}]{}: {} parameters {}",
+				TimeUnit.NANOSECONDS.toMillis(nanos),
+				StatementOrigin.describeCurrent(),
+				batchSize > 0 ? String.format(" in a batch of [%d]", batchSize) : "",
+				sql,
+				formatParameters(parameters));
+		}
+	}
+
+	public long getStatementCount() {
+		return this.statements.sum();
+	}
+
+	public long getSlowStatementCount() {
+		return this.slowStatements.sum();
+	}
+
+	public Duration getSlowThreshold() {
+		return Duration.ofNanos(this.slowThresholdNanos);
+	}
+
+	private Timer timer(String kind) {
+		return this.timers.computeIfAbsent(kind, key -> Timer.builder(STATEMENT_TIMER)
+			.description("Execution time of the SQL statements")
+			.tag("kind", key)
+			.register(this.registry));
+	}
+
+	/**
+	 * @return the first keyword of the statement, select, insert, update, delete or other
+	 */
+	static String kind(String sql) {
+		if (isNull(sql)) {
+			return "other";
+		}
+		var trimmed = sql.stripLeading();
+		var end = 0;
+		while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+			end++;
+		}
+		var keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+		return switch (keyword) {
+			case "select", "insert", "update", "delete" -> keyword;
+			default -> "other";
+		};
+	}
+
+	private String formatParameters(Map<Integer, Object> parameters) {
+		return parameters.entrySet().stream()
+			.map(parameter -> parameter.getKey() + "=" + formatParameter(parameter.getValue()))
+			.collect(Collectors.joining(", ", "[", "]"));
+	}
+
+	private String formatParameter(Object value) {
+		if (isNull(value)) {
+			return "null";
+		}
+		if (value instanceof CharSequence text) {
+			return text.length() > this.maxParameterLength
+				? "'" + text.subSequence(0, this.maxParameterLength) + "...'"
+				: "'" + text + "'";
+		}
+		if (value instanceof Number || value instanceof Boolean || value instanceof Date || value instanceof Temporal || value instanceof UUID) {
+			return value.toString();
+		}
+		// streams, blobs and byte arrays are not logged
+		return "<" + value.getClass().getSimpleName() + ">";
+	}
+}
@@ -0,0 +1,145 @@
+package com.tourem.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Times the statements run through the data source and reports them, with their bound parameters,
+ * to the {@link StatementObserver}. The connections and statements are wrapped in JDK proxies:
+ * the driver objects stay reachable through unwrap.
+ */
+public class StatementObservingDataSource extends DelegatingDataSource {
+
+	private static final Set<String> PREPARE_METHODS = Set.of("prepareStatement", "prepareCall");
+	private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+	private static final Set<String> BATCH_METHODS = Set.of("executeBatch", "executeLargeBatch");
+
+	private final StatementObserver observer;
+
+	public StatementObservingDataSource(DataSource target, StatementObserver observer) {
+		super(target);
+		this.observer = observer;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return observe(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return observe(super.getConnection(username, password));
+	}
+
+	private Connection observe(Connection connection) {
+		return proxy(Connection.class, (proxy, method, args) -> {
+			var identity = identity(proxy, method, args);
+			if (identity != null) {
+				return identity;
+			}
+			var result = invoke(connection, method, args);
+			if (result instanceof Statement statement) {
+				return observe(statement, PREPARE_METHODS.contains(method.getName()) ? (String) args[0] : null);
+			}
+			return result;
+		});
+	}
+
+	private Statement observe(Statement statement, String sql) {
+		Class<? extends Statement> type = statement instanceof CallableStatement
+			? CallableStatement.class
+			: statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+		return proxy(type, new StatementHandler(statement, sql));
+	}
+
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(StatementObservingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+	}
+
+	/**
+	 * Compares the proxies by identity, as the pools and Hibernate keep the statements in hash maps
+	 */
+	private static Object identity(Object proxy, Method method, Object[] args) {
+		return switch (method.getName()) {
+			case "equals" -> proxy == args[0];
+			case "hashCode" -> System.identityHashCode(proxy);
+			default -> null;
+		};
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+
+	/**
+	 * Remembers the SQL and the parameters bound to a statement, and times its executions
+	 */
+	private class StatementHandler implements InvocationHandler {
+
+		private final Statement statement;
+		private final Map<Integer, Object> parameters = new TreeMap<>();
+		private String sql;
+		private int batchSize;
+
+		StatementHandler(Statement statement, String sql) {
+			this.statement = statement;
+			this.sql = sql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			var identity = identity(proxy, method, args);
+			if (identity != null) {
+				return identity;
+			}
+
+			var name = method.getName();
+			if (EXECUTE_METHODS.contains(name)) {
+				return execute(method, args);
+			}
+			if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+				this.parameters.put(index, "setNull".equals(name) ? null : args[1]);
+			} else if ("clearParameters".equals(name)) {
+				this.parameters.clear();
+			} else if ("addBatch".equals(name)) {
+				this.batchSize++;
+				if (args != null && args.length == 1) {
+					this.sql = (String) args[0];
+				}
+			} else if ("clearBatch".equals(name)) {
+				this.batchSize = 0;
+			}
+			return StatementObservingDataSource.invoke(this.statement, method, args);
+		}
+
+		private Object execute(Method method, Object[] args) throws Throwable {
+			var executedSql = args != null && args.length > 0 && args[0] instanceof String string ? string : this.sql;
+			var start = System.nanoTime();
+			try {
+				return StatementObservingDataSource.invoke(this.statement, method, args);
+			} finally {
+				observer.onStatement(executedSql, this.parameters, System.nanoTime() - start, this.batchSize);
+				if (BATCH_METHODS.contains(method.getName())) {
+					this.batchSize = 0;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.tourem.datasource;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Operation running the statements of the current thread, reported with the slow statements.
+ * The services bind it around each stage of their operations.
+ * @param service name of the service
+ * @param queryBuilder name of the query builder of the service
+ * @param operation name of the operation
+ * @param stage stage of the operation
+ */
+public record StatementOrigin(String service, String queryBuilder, String operation, String stage) {
+
+	private static final ThreadLocal<StatementOrigin> CURRENT = new ThreadLocal<>();
+	private static final String APPLICATION_PACKAGE = "com.tourem.";
+	private static final String DATASOURCE_PACKAGE = "com.tourem.datasource.";
+
+	/**
+	 * Binds the origin of the statements of the current thread
+	 * @param origin origin of the statements
+	 * @return the origin bound before, to be restored once the stage is over
+	 */
+	public static StatementOrigin bind(StatementOrigin origin) {
+		var previous = CURRENT.get();
+		CURRENT.set(origin);
+		return previous;
+	}
+
+	/**
+	 * Restores the origin bound before a stage
+	 * @param previous origin returned by {@link #bind(StatementOrigin)}, may be null
+	 */
+	public static void restore(StatementOrigin previous) {
+		if (isNull(previous)) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+
+	/**
+	 * Describes the origin of a statement run by the current thread: the bound origin, or else the innermost
+	 * application method on the stack, such as a scheduled job or an event subscriber
+	 * @return the origin of the statement
+	 */
+	public static String describeCurrent() {
+		var origin = CURRENT.get();
+		if (!isNull(origin)) {
+			return origin.toString();
+		}
+		return StackWalker.getInstance().walk(frames -> frames
+			.filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE) && !frame.getClassName().startsWith(DATASOURCE_PACKAGE))
+			.findFirst()
+			.map(frame -> frame.getClassName().substring(APPLICATION_PACKAGE.length()) + "." + frame.getMethodName())
+			.orElse("unknown"));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s.%s (%s, %s)", this.service, this.operation, this.stage, this.queryBuilder);
+	}
+}
@@ -0,0 +1,127 @@
+package com.tourem.datasource;
+
+import org.hibernate.stat.Statistics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Statements timed by the {@link StatementObserver} and statistics of the Hibernate session factory
+ * since they were last cleared. Fetches much higher than loads point at associations loaded one row at a time.
+ * @param hibernateStatisticsEnabled false when hibernate.generate_statistics is off, the Hibernate counters are then 0
+ * @param since start of the Hibernate statistics
+ * @param statements statements run through the data source since the start
+ * @param slowStatements statements slower than the threshold since the start
+ * @param slowThreshold duration from which a statement is logged
+ * @param sessionsOpened sessions opened
+ * @param transactions transactions completed
+ * @param connectionsObtained connections obtained by the sessions
+ * @param statementsPrepared statements prepared by the sessions
+ * @param queryExecutions HQL and criteria queries executed
+ * @param slowestQuery slowest HQL or criteria query
+ * @param slowestQueryMillis execution time of the slowest query
+ * @param entityLoads entities loaded
+ * @param entityFetches entities fetched by a statement of their own
+ * @param collectionLoads collections loaded
+ * @param collectionFetches collections fetched by a statement of their own
+ * @param flushes session flushes
+ * @param optimisticFailures version conflicts
+ * @param entities counters per entity
+ * @param queries queries taking the most time in total
+ */
+public record TouremSqlStatistics(
+	boolean hibernateStatisticsEnabled,
+	Instant since,
+	long statements,
+	long slowStatements,
+	Duration slowThreshold,
+	long sessionsOpened,
+	long transactions,
+	long connectionsObtained,
+	long statementsPrepared,
+	long queryExecutions,
+	String slowestQuery,
+	long slowestQueryMillis,
+	long entityLoads,
+	long entityFetches,
+	long collectionLoads,
+	long collectionFetches,
+	long flushes,
+	long optimisticFailures,
+	List<EntityStatistics> entities,
+	List<QueryStatistics> queries) {
+
+	/**
+	 * @param name name of the entity
+	 * @param loads entities loaded
+	 * @param fetches entities fetched by a statement of their own
+	 * @param inserts entities inserted
+	 * @param updates entities updated
+	 * @param deletes entities deleted
+	 */
+	public record EntityStatistics(String name, long loads, long fetches, long inserts, long updates, long deletes) {
+	}
+
+	/**
+	 * @param query HQL or criteria query
+	 * @param executions number of executions
+	 * @param rows rows returned by all the executions
+	 * @param averageMillis average execution time
+	 * @param maxMillis maximum execution time
+	 * @param totalMillis total execution time
+	 */
+	public record QueryStatistics(String query, long executions, long rows, long averageMillis, long maxMillis, long totalMillis) {
+	}
+
+	/**
+	 * Reads the statistics
+	 * @param statistics statistics of the session factory
+	 * @param observer observer of the statements
+	 * @param maxQueries maximum number of queries returned
+	 * @return the statistics
+	 */
+	public static TouremSqlStatistics of(Statistics statistics, StatementObserver observer, int maxQueries) {
+		var entities = Arrays.stream(statistics.getEntityNames())
+			.map(name -> {
+				var entity = statistics.getEntityStatistics(name);
+				return new EntityStatistics(name.substring(name.lastIndexOf('.') + 1), entity.getLoadCount(), entity.getFetchCount(),
+					entity.getInsertCount(), entity.getUpdateCount(), entity.getDeleteCount());
+			})
+			.sorted(Comparator.comparing(EntityStatistics::name))
+			.toList();
+		var queries = Arrays.stream(statistics.getQueries())
+			.map(query -> {
+				var stats = statistics.getQueryStatistics(query);
+				return new QueryStatistics(query, stats.getExecutionCount(), stats.getExecutionRowCount(),
+					stats.getExecutionAvgTime(), stats.getExecutionMaxTime(), stats.getExecutionTotalTime());
+			})
+			.sorted(Comparator.comparingLong(QueryStatistics::totalMillis).reversed())
+			.limit(maxQueries)
+			.toList();
+
+		return new TouremSqlStatistics(
+			statistics.isStatisticsEnabled(),
+			Instant.ofEpochMilli(statistics.getStartTime()),
+			observer.getStatementCount(),
+			observer.getSlowStatementCount(),
+			observer.getSlowThreshold(),
+			statistics.getSessionOpenCount(),
+			statistics.getTransactionCount(),
+			statistics.getConnectCount(),
+			statistics.getPrepareStatementCount(),
+			statistics.getQueryExecutionCount(),
+			statistics.getQueryExecutionMaxTimeQueryString(),
+			statistics.getQueryExecutionMaxTime(),
+			statistics.getEntityLoadCount(),
+			statistics.getEntityFetchCount(),
+			statistics.getCollectionLoadCount(),
+			statistics.getCollectionFetchCount(),
+			statistics.getFlushCount(),
+			statistics.getOptimisticFailureCount(),
+			entities,
+			queries);
+	}
+}
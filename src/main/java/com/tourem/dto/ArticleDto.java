@@ -15,4 +15,5 @@ public class ArticleDto implements TouremDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime deletedAt;
+    private Long version;
 }
@@ -16,4 +16,5 @@ public class AuthorDto implements TouremDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime deletedAt;
+    private Long version;
 }
@@ -13,4 +13,5 @@ public class ImageUrlDto implements TouremDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime deletedAt;
+    private Long version;
 }
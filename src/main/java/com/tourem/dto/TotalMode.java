@@ -0,0 +1,50 @@
+package com.tourem.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.google.common.base.Strings;
+import com.tourem.exceptions.InvalidRequestException;
+
+import java.util.Arrays;
+
+/**
+ * How the total number of elements of a list response has been computed
+ */
+public enum TotalMode {
+	/** total counted with a COUNT query on every request, also requested with withTotal=true */
+	EXACT("exact"),
+	/** total served from a short-lived count cache */
+	CACHED("cached"),
+	/** total estimated from the database statistics as of the last ANALYZE, the soft-deleted rows excluded */
+	ESTIMATE("estimate"),
+	/** no total: a slice telling only if there is a next page, requested with withTotal=false */
+	NONE("none");
+
+	private final String value;
+
+	TotalMode(String value) {
+		this.value = value;
+	}
+
+	@JsonValue
+	public String getValue() {
+		return this.value;
+	}
+
+	/**
+	 * Gets the mode matching the value of the withTotal request parameter
+	 * @param value request parameter value, exact when missing or true
+	 * @return the total mode
+	 */
+	public static TotalMode fromValue(String value) {
+		if (Strings.isNullOrEmpty(value) || Boolean.TRUE.toString().equalsIgnoreCase(value)) {
+			return EXACT;
+		}
+		if (Boolean.FALSE.toString().equalsIgnoreCase(value)) {
+			return NONE;
+		}
+		return Arrays.stream(values())
+			.filter(mode -> mode.value.equalsIgnoreCase(value) || mode.name().equalsIgnoreCase(value))
+			.findFirst()
+			.orElseThrow(() -> new InvalidRequestException(String.format("Invalid withTotal value [%s]", value)));
+	}
+}
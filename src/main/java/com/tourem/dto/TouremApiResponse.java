@@ -1,3 +1,10 @@
 package com.tourem.dto;
 
-public record TouremApiResponse<T>(T data, int status) { }
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TouremApiResponse<T>(T data, int status, TotalMode totalMode) {
+	public TouremApiResponse(T data, int status) {
+		this(data, status, null);
+	}
+}
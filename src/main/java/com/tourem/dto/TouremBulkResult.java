@@ -0,0 +1,21 @@
+package com.tourem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a bulk operation
+ * @param index position of the item in the request
+ * @param id ID of the resource, when known
+ * @param status HTTP status of the item
+ * @param data resource after the operation, when successful
+ * @param error reason of the failure, when unsuccessful
+ * @param <D> DTO type
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TouremBulkResult<D>(int index, String id, int status, D data, String error) {
+	@JsonIgnore
+	public boolean isSuccessful() {
+		return this.status < 400;
+	}
+}
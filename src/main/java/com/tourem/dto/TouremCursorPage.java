@@ -0,0 +1,6 @@
+package com.tourem.dto;
+
+import java.util.List;
+
+public record TouremCursorPage<T>(List<T> content, String nextCursor, int size) {
+}
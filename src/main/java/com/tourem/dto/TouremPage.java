@@ -0,0 +1,40 @@
+package com.tourem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * Page telling how its total number of elements has been computed
+ * @param <T> type of the page elements
+ */
+public class TouremPage<T> extends PageImpl<T> {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private final TotalMode totalMode;
+
+	public TouremPage(List<T> content, Pageable pageable, long total, TotalMode totalMode) {
+		super(content, pageable, total);
+		this.totalMode = totalMode;
+	}
+
+	@JsonIgnore
+	public TotalMode getTotalMode() {
+		return this.totalMode;
+	}
+
+	/**
+	 * Gets the total mode of a list response
+	 * @param slice list response
+	 * @return the total mode of the page, or none for a slice without total
+	 */
+	public static TotalMode totalModeOf(Slice<?> slice) {
+		return slice instanceof TouremPage<?> page ? page.getTotalMode() : TotalMode.NONE;
+	}
+}
@@ -0,0 +1,16 @@
+package com.tourem.events;
+
+import com.tourem.dao.entities.TouremEntity;
+
+import java.time.Instant;
+
+/**
+ * Write of one resource, published once its transaction has committed.
+ * The event only identifies the resource: the subscribers read its committed state when they need it.
+ * @param type write operation
+ * @param entityType type of the written entity
+ * @param entityId ID of the written entity
+ * @param occurredAt time of the write
+ */
+public record TouremDomainEvent(TouremEventType type, Class<? extends TouremEntity> entityType, String entityId, Instant occurredAt) {
+}
@@ -0,0 +1,194 @@
+package com.tourem.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Delivers the domain events to the subscribers on a fixed number of workers.
+ * <ul>
+ *     <li>each worker has a bounded queue, the events of one resource always go to the same worker so that
+ *     they are delivered in order</li>
+ *     <li>a worker takes up to batch-size queued events at once, and hands each subscriber the ones it supports</li>
+ *     <li>a failed batch is retried with an exponential backoff, then logged and dropped</li>
+ *     <li>a full queue makes the publishing thread wait for the offer timeout, which slows the writers down,
+ *     then the event is dropped and counted as overflowed: the events are never delivered on the publishing thread,
+ *     where they would run inside the completion of its transaction and overtake the queued events</li>
+ * </ul>
+ * On shutdown, the workers deliver the queued events before stopping.
+ */
+@Slf4j
+@Component
+public class TouremEventDispatcher {
+
+	private static final long POLL_TIMEOUT_MS = 500;
+
+	private final List<TouremEventSubscriber> subscribers;
+	private final List<BlockingQueue<TouremDomainEvent>> queues = new ArrayList<>();
+	private final ExecutorService workers;
+	private final int batchSize;
+	private final Duration offerTimeout;
+	private final int maxAttempts;
+	private final Duration retryBackoff;
+	private final Duration shutdownTimeout;
+	private final AtomicLong delivered = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong overflowed = new AtomicLong();
+	private volatile boolean running = true;
+
+	public TouremEventDispatcher(List<TouremEventSubscriber> subscribers,
+								 @Value("${tourem.events.workers:2}") int workers,
+								 @Value("${tourem.events.queue-capacity:10000}") int queueCapacity,
+								 @Value("${tourem.events.batch-size:100}") int batchSize,
+								 @Value("${tourem.events.offer-timeout:100ms}") Duration offerTimeout,
+								 @Value("${tourem.events.max-attempts:3}") int maxAttempts,
+								 @Value("${tourem.events.retry-backoff:200ms}") Duration retryBackoff,
+								 @Value("${tourem.events.shutdown-timeout:10s}") Duration shutdownTimeout) {
+		this.subscribers = subscribers;
+		this.batchSize = Math.max(1, batchSize);
+		this.offerTimeout = offerTimeout;
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.retryBackoff = retryBackoff;
+		this.shutdownTimeout = shutdownTimeout;
+
+		var count = Math.max(1, workers);
+		var threadNumber = new AtomicInteger();
+		this.workers = Executors.newFixedThreadPool(count, runnable -> {
+			var thread = new Thread(runnable, "tourem-events-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (int i = 0; i < count; i++) {
+			var queue = new ArrayBlockingQueue<TouremDomainEvent>(Math.max(this.batchSize, queueCapacity / count));
+			this.queues.add(queue);
+			this.workers.execute(() -> work(queue));
+		}
+		log.info("Dispatching the domain events to [{}] subscribers on [{}] workers", subscribers.size(), count);
+	}
+
+	/**
+	 * Queues events for delivery, dropping them when their queue stays full
+	 * @param events events to be delivered
+	 */
+	public void dispatch(List<TouremDomainEvent> events) {
+		if (this.subscribers.isEmpty()) {
+			return;
+		}
+		for (var event : events) {
+			try {
+				var queue = this.queues.get(Math.floorMod(event.entityId().hashCode(), this.queues.size()));
+				if (!this.running) {
+					log.warn("Dispatcher stopped, the event [{}] is dropped", event);
+					this.dropped.incrementAndGet();
+				} else if (!queue.offer(event, this.offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+					log.warn("Event queue full, the event [{}] is dropped", event);
+					this.overflowed.incrementAndGet();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				log.warn("Interrupted while dispatching [{}], the event is dropped", event);
+				this.dropped.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of events waiting in the queues
+	 * @return the number of queued events
+	 */
+	public int getQueued() {
+		return this.queues.stream().mapToInt(BlockingQueue::size).sum();
+	}
+
+	public long getDelivered() {
+		return this.delivered.get();
+	}
+
+	public long getDropped() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * Gets the number of events dropped because their queue stayed full for the offer timeout
+	 * @return the number of overflowed events
+	 */
+	public long getOverflowed() {
+		return this.overflowed.get();
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		this.running = false;
+		this.workers.shutdown();
+		if (!this.workers.awaitTermination(this.shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+			log.warn("Dropping [{}] undelivered events on shutdown", getQueued());
+			this.workers.shutdownNow();
+		}
+	}
+
+	private void work(BlockingQueue<TouremDomainEvent> queue) {
+		var batch = new ArrayList<TouremDomainEvent>(this.batchSize);
+		while (this.running || !queue.isEmpty()) {
+			try {
+				var first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+				if (isNull(first)) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, this.batchSize - 1);
+				deliver(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				// a worker must outlive any failure, or its queue would never be drained again
+				log.error("Unable to deliver [{}] events", batch.size(), e);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void deliver(List<TouremDomainEvent> batch) throws InterruptedException {
+		for (var subscriber : this.subscribers) {
+			var events = batch.stream().filter(event -> subscriber.supports(event.entityType())).toList();
+			if (!events.isEmpty()) {
+				deliver(subscriber, events);
+			}
+		}
+	}
+
+	private void deliver(TouremEventSubscriber subscriber, List<TouremDomainEvent> events) throws InterruptedException {
+		var backoff = this.retryBackoff;
+		for (int attempt = 1; ; attempt++) {
+			try {
+				subscriber.onEvents(events);
+				this.delivered.addAndGet(events.size());
+				return;
+			} catch (RuntimeException e) {
+				if (attempt >= this.maxAttempts) {
+					log.error("Dropping [{}] events of [{}] after [{}] attempts: {}", events.size(), subscriber.getClass().getSimpleName(), attempt, events, e);
+					this.dropped.addAndGet(events.size());
+					return;
+				}
+				log.warn("Attempt [{}] of [{}] failed for [{}] events, retrying in [{}]: [{}]", attempt, subscriber.getClass().getSimpleName(), events.size(), backoff, e.getMessage());
+				Thread.sleep(backoff.toMillis());
+				backoff = backoff.multipliedBy(2);
+			}
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.tourem.events;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the number of queued domain events, as tourem.events.queued,
+ * and the outcome of the dispatched ones, as tourem.events tagged with the delivered, dropped or overflowed result.
+ * The dispatcher is resolved when the meters are read: the binders are applied while the data source is created,
+ * before the subscribers of the dispatcher can be.
+ */
+@Component
+public class TouremEventMetrics implements MeterBinder {
+
+	private final ObjectProvider<TouremEventDispatcher> dispatcher;
+
+	public TouremEventMetrics(ObjectProvider<TouremEventDispatcher> dispatcher) {
+		this.dispatcher = dispatcher;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("tourem.events.queued", this.dispatcher, dispatcher -> dispatcher.getObject().getQueued())
+			.description("Domain events waiting for delivery")
+			.register(registry);
+		FunctionCounter.builder("tourem.events", this.dispatcher, dispatcher -> dispatcher.getObject().getDelivered())
+			.description("Dispatched domain events")
+			.tag("result", "delivered")
+			.register(registry);
+		FunctionCounter.builder("tourem.events", this.dispatcher, dispatcher -> dispatcher.getObject().getDropped())
+			.description("Dispatched domain events")
+			.tag("result", "dropped")
+			.register(registry);
+		FunctionCounter.builder("tourem.events", this.dispatcher, dispatcher -> dispatcher.getObject().getOverflowed())
+			.description("Dispatched domain events")
+			.tag("result", "overflowed")
+			.register(registry);
+	}
+}
@@ -0,0 +1,56 @@
+package com.tourem.events;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Publishes the domain events of a transaction once it has committed, the events of a rolled back
+ * transaction are discarded. Outside of a transaction, the events are dispatched right away.
+ */
+@Component
+public class TouremEventPublisher {
+
+	private final TouremEventDispatcher dispatcher;
+
+	public TouremEventPublisher(TouremEventDispatcher dispatcher) {
+		this.dispatcher = dispatcher;
+	}
+
+	/**
+	 * Publishes an event after the commit of the current transaction, if any
+	 * @param event event to be published
+	 */
+	public void publish(TouremDomainEvent event) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.dispatcher.dispatch(List.of(event));
+			return;
+		}
+
+		// the events of a transaction are bound to it, and dispatched together
+		@SuppressWarnings("unchecked")
+		var pending = (List<TouremDomainEvent>) TransactionSynchronizationManager.getResource(this);
+		if (isNull(pending)) {
+			var events = new ArrayList<TouremDomainEvent>();
+			TransactionSynchronizationManager.bindResource(this, events);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					dispatcher.dispatch(events);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(TouremEventPublisher.this);
+				}
+			});
+			pending = events;
+		}
+		pending.add(event);
+	}
+}
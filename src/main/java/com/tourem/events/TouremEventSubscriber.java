@@ -0,0 +1,25 @@
+package com.tourem.events;
+
+import com.tourem.dao.entities.TouremEntity;
+
+import java.util.List;
+
+/**
+ * Receives the domain events on the workers of the dispatcher, by batches, outside of any transaction.
+ * A batch which fails is retried as a whole: the handling of an event is expected to be idempotent.
+ */
+public interface TouremEventSubscriber {
+
+	/**
+	 * Tells if the subscriber receives the events of an entity type
+	 * @param entityType type of the written entity
+	 * @return true to receive its events
+	 */
+	boolean supports(Class<? extends TouremEntity> entityType);
+
+	/**
+	 * Handles a batch of events. The events of one resource are received in the order of their commits.
+	 * @param events events of the supported entity types
+	 */
+	void onEvents(List<TouremDomainEvent> events);
+}
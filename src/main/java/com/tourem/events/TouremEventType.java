@@ -0,0 +1,11 @@
+package com.tourem.events;
+
+/**
+ * Write operation a domain event reports
+ */
+public enum TouremEventType {
+	CREATED,
+	PATCHED,
+	PUT,
+	DELETED
+}
@@ -0,0 +1,34 @@
+package com.tourem.exceptions;
+
+/**
+ * Invalid data or criteria sent by a client, mapped to 406 as any {@link IllegalArgumentException}.
+ * Being an expected outcome of the requests, it does not capture its stack trace, unless it wraps a failure
+ * whose stack trace would otherwise be lost.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+	/**
+	 * @param message reason why the request is invalid, sent back to the client
+	 */
+	public InvalidRequestException(String message) {
+		super(message);
+	}
+
+	/**
+	 * @param message reason why the request is invalid, sent back to the client
+	 * @param cause parsing failure of the invalid value
+	 */
+	public InvalidRequestException(String message, Throwable cause) {
+		super(message, cause);
+		// the stack trace skipped by the override below is captured for the wrapped failures
+		super.fillInStackTrace();
+	}
+
+	/**
+	 * Skips the stack trace, captured afterwards by the constructor with a cause only
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
@@ -2,15 +2,15 @@ package com.tourem.exceptions;
 
 public class MissingResourceException extends RuntimeException {
 	/**
-	 * Constructs a new runtime exception with the specified detail message.
-	 * The cause is not initialized, and may subsequently be initialized by a
-	 * call to {@link #initCause}.
+	 * Constructs a new runtime exception with the specified detail message,
+	 * without a stack trace: thrown for an expected outcome of a request, it is
+	 * only mapped to a response by the {@link TouremExceptionHandler}.
 	 *
 	 * @param message the detail message. The detail message is saved for
 	 *                later retrieval by the {@link #getMessage()} method.
 	 */
 	public MissingResourceException(String message) {
-		super(message);
+		super(message, null, false, false);
 	}
 
 	/**
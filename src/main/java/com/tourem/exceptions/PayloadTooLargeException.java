@@ -0,0 +1,15 @@
+package com.tourem.exceptions;
+
+/**
+ * Request carrying more items than a single request may hold, mapped to 413.
+ * Being an expected outcome of the requests, it does not capture its stack trace.
+ */
+public class PayloadTooLargeException extends RuntimeException {
+
+	/**
+	 * @param message reason why the request is too large, sent back to the client
+	 */
+	public PayloadTooLargeException(String message) {
+		super(message, null, false, false);
+	}
+}
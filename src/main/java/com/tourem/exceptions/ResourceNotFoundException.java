@@ -3,22 +3,22 @@ package com.tourem.exceptions;
 public class ResourceNotFoundException extends RuntimeException {
 	/**
 	 * Constructs a new runtime exception with {@code null} as its
-	 * detail message.  The cause is not initialized, and may subsequently be
-	 * initialized by a call to {@link #initCause}.
+	 * detail message, without a stack trace.
 	 */
 	public ResourceNotFoundException() {
+		super(null, null, false, false);
 	}
 
 	/**
-	 * Constructs a new runtime exception with the specified detail message.
-	 * The cause is not initialized, and may subsequently be initialized by a
-	 * call to {@link #initCause}.
+	 * Constructs a new runtime exception with the specified detail message,
+	 * without a stack trace: thrown for an expected outcome of a request, it is
+	 * only mapped to a response by the {@link TouremExceptionHandler}.
 	 *
 	 * @param message the detail message. The detail message is saved for
 	 *                later retrieval by the {@link #getMessage()} method.
 	 */
 	public ResourceNotFoundException(String message) {
-		super(message);
+		super(message, null, false, false);
 	}
 
 	/**
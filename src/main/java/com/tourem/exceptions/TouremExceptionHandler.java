@@ -2,6 +2,7 @@ package com.tourem.exceptions;
 
 import com.tourem.dto.TouremErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -16,34 +17,91 @@ import java.util.Map;
 public class TouremExceptionHandler extends ResponseEntityExceptionHandler {
 	@ExceptionHandler(value = {MissingResourceException.class})
 	protected ResponseEntity<Object> handleMissingResource(RuntimeException e) {
-		log.debug("[MissingResourceException] - Full exception details", e);
+		logException("MissingResourceException", e);
 		return createResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
 	}
 
 	@ExceptionHandler(value = {ResourceNotFoundException.class})
 	protected ResponseEntity<Object> handleResourceNotFound(RuntimeException e) {
-		log.debug("[ResourceNotFoundException] - Full exception details", e);
+		logException("ResourceNotFoundException", e);
 		return createResponse(e.getMessage(), HttpStatus.NOT_FOUND);
 	}
 
 	@ExceptionHandler(value = {IllegalArgumentException.class})
 	protected ResponseEntity<Object> handleIllegalArgument(RuntimeException e) {
-		log.debug("[IllegalArgumentException] - Full exception details", e);
+		logException("IllegalArgumentException", e);
 		return createResponse(e.getMessage(), HttpStatus.NOT_ACCEPTABLE);
 	}
 
+	@ExceptionHandler(value = {PreconditionFailedException.class, OptimisticLockingFailureException.class})
+	protected ResponseEntity<Object> handlePreconditionFailed(RuntimeException e) {
+		logException("PreconditionFailedException", e);
+		return createResponse(e.getMessage(), HttpStatus.PRECONDITION_FAILED);
+	}
+
+	@ExceptionHandler(value = {PayloadTooLargeException.class})
+	protected ResponseEntity<Object> handlePayloadTooLarge(RuntimeException e) {
+		logException("PayloadTooLargeException", e);
+		return createResponse(e.getMessage(), HttpStatus.PAYLOAD_TOO_LARGE);
+	}
+
 	@ExceptionHandler(value = {ResourceCreationFailedException.class})
 	protected ResponseEntity<Object> handleCreationFailedException(Exception e) {
-		log.debug("[ResourceCreationFailedException] - Full exception details", e);
+		logException("ResourceCreationFailedException", e);
 		return createResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
 	}
 
 	@ExceptionHandler(value = {Exception.class})
 	protected ResponseEntity<Object> handleGeneralException(Exception e) {
-		log.debug("[Exception] - Full exception details", e);
+		logException("Exception", e);
 		return createResponse(e.getMessage(), HttpStatus.EXPECTATION_FAILED);
 	}
 
+	/**
+	 * Logs the stack trace of the unexpected failures only: the expected outcomes, such as a missing resource
+	 * or invalid criteria, are thrown without a stack trace and logged by their message
+	 * @param type type of the exception, as handled
+	 * @param e exception to be logged
+	 */
+	private static void logException(String type, Exception e) {
+		// reading the stack trace materializes it, only do so when logging
+		if (!log.isDebugEnabled()) {
+			return;
+		}
+		if (e.getStackTrace().length == 0) {
+			log.debug("[{}] - {}", type, e.getMessage());
+		} else {
+			log.debug("[{}] - Full exception details", type, e);
+		}
+	}
+
+	/**
+	 * Status of an exception caught outside of the controller advice, such as the failed items of a bulk operation
+	 * @param e exception to be mapped
+	 * @return the status the handlers above would have returned
+	 */
+	public static HttpStatus statusOf(Exception e) {
+		if (e instanceof MissingResourceException) {
+			return HttpStatus.BAD_REQUEST;
+		}
+		if (e instanceof ResourceNotFoundException) {
+			return HttpStatus.NOT_FOUND;
+		}
+		if (e instanceof IllegalArgumentException) {
+			return HttpStatus.NOT_ACCEPTABLE;
+		}
+		if (e instanceof PreconditionFailedException || e instanceof OptimisticLockingFailureException) {
+			return HttpStatus.PRECONDITION_FAILED;
+		}
+		if (e instanceof PayloadTooLargeException) {
+			return HttpStatus.PAYLOAD_TOO_LARGE;
+		}
+		if (e instanceof ResourceCreationFailedException) {
+			return HttpStatus.INTERNAL_SERVER_ERROR;
+		}
+		return HttpStatus.EXPECTATION_FAILED;
+	}
+
 	private ResponseEntity<Object> createResponse(String message, HttpStatus status) {
 		Map<String, String> response = Map.of(
 			"timestamp", LocalDateTime.now().toString(),
@@ -0,0 +1,80 @@
+package com.tourem.export;
+
+import com.tourem.TouremObject;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes the readable properties of the DTO as RFC 4180 CSV, with a header line.
+ * Nested resources are written as their ID.
+ * @param <D> DTO type
+ */
+public class CsvExportWriter<D> implements TouremExportWriter<D> {
+
+	private final Writer writer;
+	/** getters of the columns, resolved once for the whole export */
+	private final List<Method> getters;
+
+	public CsvExportWriter(OutputStream out, Class<D> dtoType) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		var properties = Arrays.stream(BeanUtils.getPropertyDescriptors(dtoType))
+			.filter(pd -> Objects.nonNull(pd.getReadMethod()) && !"class".equals(pd.getName()))
+			.toList();
+		this.getters = properties.stream().map(PropertyDescriptor::getReadMethod).toList();
+		writeLine(properties.stream().map(PropertyDescriptor::getName).toList());
+	}
+
+	@Override
+	public void write(D row) throws IOException {
+		var cells = new ArrayList<String>(this.getters.size());
+		for (var getter : this.getters) {
+			cells.add(toCell(ReflectionUtils.invokeMethod(getter, row)));
+		}
+		writeLine(cells);
+	}
+
+	private static String toCell(Object value) {
+		if (Objects.isNull(value)) {
+			return "";
+		}
+		if (value instanceof TouremObject object) {
+			return Objects.toString(object.getId(), "");
+		}
+		return value.toString();
+	}
+
+	private void writeLine(List<String> cells) throws IOException {
+		for (int i = 0; i < cells.size(); i++) {
+			if (i > 0) {
+				this.writer.write(',');
+			}
+			this.writer.write(escape(cells.get(i)));
+		}
+		this.writer.write("\r\n");
+	}
+
+	private static String escape(String cell) {
+		if (cell.contains(",") || cell.contains("\"") || cell.contains("\n") || cell.contains("\r")) {
+			return '"' + cell.replace("\"", "\"\"") + '"';
+		}
+		return cell;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.writer.close();
+	}
+}
@@ -0,0 +1,65 @@
+package com.tourem.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Strings;
+import com.tourem.exceptions.InvalidRequestException;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Formats of the streaming export
+ */
+public enum ExportFormat {
+	/** one JSON document per line */
+	NDJSON("ndjson", new MediaType("application", "x-ndjson")),
+	/** comma separated values with a header line */
+	CSV("csv", new MediaType("text", "csv"));
+
+	private final String value;
+	private final MediaType mediaType;
+
+	ExportFormat(String value, MediaType mediaType) {
+		this.value = value;
+		this.mediaType = mediaType;
+	}
+
+	public MediaType getMediaType() {
+		return this.mediaType;
+	}
+
+	public String getFileName(String resourceName) {
+		return resourceName + "." + this.value;
+	}
+
+	/**
+	 * Creates a writer of this format
+	 * @param out stream the rows are written to
+	 * @param objectMapper JSON mapper of the application
+	 * @param dtoType type of the exported rows
+	 * @return the writer
+	 */
+	public <D> TouremExportWriter<D> createWriter(OutputStream out, ObjectMapper objectMapper, Class<D> dtoType) throws IOException {
+		return switch (this) {
+			case NDJSON -> new NdjsonExportWriter<>(out, objectMapper);
+			case CSV -> new CsvExportWriter<>(out, dtoType);
+		};
+	}
+
+	/**
+	 * Gets the format matching the value of the format request parameter
+	 * @param value request parameter value, ndjson when missing
+	 * @return the export format
+	 */
+	public static ExportFormat fromValue(String value) {
+		if (Strings.isNullOrEmpty(value)) {
+			return NDJSON;
+		}
+		return Arrays.stream(values())
+			.filter(format -> format.value.equalsIgnoreCase(value))
+			.findFirst()
+			.orElseThrow(() -> new InvalidRequestException(String.format("Invalid export format [%s]", value)));
+	}
+}
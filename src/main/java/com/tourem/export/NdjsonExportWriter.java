@@ -0,0 +1,36 @@
+package com.tourem.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes one JSON document per line
+ * @param <D> DTO type
+ */
+public class NdjsonExportWriter<D> implements TouremExportWriter<D> {
+
+	private final ObjectWriter objectWriter;
+	private final JsonGenerator generator;
+
+	public NdjsonExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+		// let the generator buffer the rows rather than flushing the response after each of them
+		this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.generator = objectMapper.getFactory().createGenerator(out).setRootValueSeparator(null);
+	}
+
+	@Override
+	public void write(D row) throws IOException {
+		this.objectWriter.writeValue(this.generator, row);
+		this.generator.writeRaw('\n');
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.generator.close();
+	}
+}
@@ -0,0 +1,16 @@
+package com.tourem.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes the rows of a streaming export one at a time
+ * @param <D> DTO type
+ */
+public interface TouremExportWriter<D> extends Closeable {
+	/**
+	 * Writes one row
+	 * @param row row to be written
+	 */
+	void write(D row) throws IOException;
+}
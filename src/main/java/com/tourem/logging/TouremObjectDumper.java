@@ -0,0 +1,113 @@
+package com.tourem.logging;
+
+import com.tourem.TouremObject;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxyHelper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Renders the whole state of the entities for the TRACE logs, the entities themselves only rendering their type and ID.
+ * One call out of sample-rate is dumped, so that TRACE can be turned on under load. The long strings are cut,
+ * the sensitive fields masked, and the associations rendered by their ID without being loaded.
+ */
+@Component
+public class TouremObjectDumper {
+
+	private static final String MASK = "****";
+
+	/** one call out of this many is dumped, disabled when 0 */
+	@Value("${tourem.logging.dump.sample-rate:100}")
+	private int sampleRate;
+
+	@Value("${tourem.logging.dump.max-string-length:200}")
+	private int maxStringLength;
+
+	@Value("${tourem.logging.dump.masked-fields:password}")
+	private Set<String> maskedFields;
+
+	private final AtomicLong calls = new AtomicLong();
+	private final Map<Class<?>, List<Field>> fields = new ConcurrentHashMap<>();
+
+	/**
+	 * @return true for one call out of the sample rate
+	 */
+	public boolean sample() {
+		return this.sampleRate > 0 && this.calls.getAndIncrement() % this.sampleRate == 0;
+	}
+
+	/**
+	 * Renders the fields of an object
+	 * @param object object to be rendered
+	 * @return the type of the object followed by its fields
+	 */
+	public String dump(TouremObject object) {
+		if (isNull(object)) {
+			return "null";
+		}
+		if (!Hibernate.isInitialized(object)) {
+			return identity(object) + " <lazy>";
+		}
+		var target = Hibernate.unproxy(object);
+		return fieldsOf(target.getClass()).stream()
+			.map(field -> field.getName() + "=" + render(field, read(field, target)))
+			.collect(Collectors.joining(", ", target.getClass().getSimpleName() + "(", ")"));
+	}
+
+	private String render(Field field, Object value) {
+		if (isNull(value)) {
+			return "null";
+		}
+		if (this.maskedFields.contains(field.getName())) {
+			return MASK;
+		}
+		if (value instanceof TouremObject association) {
+			return identity(association);
+		}
+		if (value instanceof Collection<?> collection) {
+			return Hibernate.isInitialized(collection) ? String.format("<%d elements>", collection.size()) : "<lazy>";
+		}
+		if (value instanceof CharSequence text && text.length() > this.maxStringLength) {
+			return String.format("%s... <%d chars>", text.subSequence(0, this.maxStringLength), text.length());
+		}
+		return value.toString();
+	}
+
+	/**
+	 * Renders the type and ID of an entity, without loading it when it is a proxy
+	 */
+	private static String identity(TouremObject object) {
+		return HibernateProxyHelper.getClassWithoutInitializingProxy(object).getSimpleName() + "(id=" + object.getId() + ")";
+	}
+
+	private List<Field> fieldsOf(Class<?> type) {
+		return this.fields.computeIfAbsent(type, key -> Arrays.stream(key.getDeclaredFields())
+			.filter(field -> !Modifier.isStatic(field.getModifiers()))
+			.map(field -> {
+				field.setAccessible(true);
+				return field;
+			})
+			.toList());
+	}
+
+	private static Object read(Field field, Object object) {
+		try {
+			return field.get(object);
+		} catch (IllegalAccessException e) {
+			return "<unreadable>";
+		}
+	}
+}
@@ -3,6 +3,7 @@ package com.tourem.mappers;
 import com.tourem.dao.entities.ArticleEntity;
 import com.tourem.dto.ArticleDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 
 @Mapper(
@@ -12,4 +13,7 @@ import org.mapstruct.Mapper;
         }
 )
 public interface ArticleMapper extends TouremObjectMapper<ArticleEntity, ArticleDto> {
+
+	@Mapping(target = "author", qualifiedByName = "association")
+	ArticleDto mapToDto(ArticleEntity source);
 }
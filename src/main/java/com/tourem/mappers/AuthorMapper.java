@@ -4,10 +4,29 @@ import com.tourem.dao.entities.AuthorEntity;
 import com.tourem.dto.AuthorDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import static java.util.Objects.isNull;
 
 @Mapper(componentModel = "spring")
 public interface AuthorMapper extends TouremObjectMapper<AuthorEntity, AuthorDto> {
 
 	@Mapping(target = "password",ignore = true)
 	AuthorDto mapToDto(AuthorEntity source);
+
+	/**
+	 * Maps an author association: fully when it has been fetched, as a reference holding only its ID otherwise
+	 * @param source mapping source
+	 * @return the dto corresponding to the association
+	 */
+	@Named("association")
+	default AuthorDto mapAssociationToDto(AuthorEntity source) {
+		if (isNull(source)) {
+			return null;
+		}
+		if (!LazyAssociations.isLoaded(source)) {
+			return AuthorDto.builder().id(LazyAssociations.idOf(source)).build();
+		}
+		return mapToDto(source);
+	}
 }
@@ -0,0 +1,36 @@
+package com.tourem.mappers;
+
+import com.tourem.dao.entities.TouremEntity;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+
+/**
+ * Helpers used by the mappers to map the associations left unloaded by a fetch plan
+ * without triggering their loading
+ */
+public final class LazyAssociations {
+
+	private LazyAssociations() {
+	}
+
+	/**
+	 * Tells if an association has been loaded
+	 * @param association association to be checked
+	 * @return true if the association can be read without hitting the DB
+	 */
+	public static boolean isLoaded(Object association) {
+		return Hibernate.isInitialized(association);
+	}
+
+	/**
+	 * Gets the ID of an association without loading it
+	 * @param association association, loaded or not
+	 * @return the ID of the associated entity
+	 */
+	public static String idOf(TouremEntity association) {
+		if (association instanceof HibernateProxy proxy) {
+			return (String) proxy.getHibernateLazyInitializer().getIdentifier();
+		}
+		return association.getId();
+	}
+}
@@ -0,0 +1,117 @@
+package com.tourem.mappers;
+
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Copies the properties of a source bean into a target bean of the same class: into its null properties,
+ * or the non-null ones only, or all of them.
+ * The accessors of each class are introspected once and kept as method handles, so a copy does not
+ * allocate nor use reflection.
+ * @param <T> bean type
+ */
+public final class NullAwareMerger<T> {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ClassValue<NullAwareMerger<?>> MERGERS = new ClassValue<>() {
+		@Override
+		protected NullAwareMerger<?> computeValue(Class<?> type) {
+			return new NullAwareMerger<>(type);
+		}
+	};
+
+	private final MethodHandle[] getters;
+	private final MethodHandle[] setters;
+
+	private NullAwareMerger(Class<T> type) {
+		var lookup = MethodHandles.publicLookup();
+		var properties = Arrays.stream(BeanUtils.getPropertyDescriptors(type))
+			.filter(pd -> Objects.nonNull(pd.getReadMethod()) && Objects.nonNull(pd.getWriteMethod()))
+			.toArray(PropertyDescriptor[]::new);
+
+		this.getters = new MethodHandle[properties.length];
+		this.setters = new MethodHandle[properties.length];
+		try {
+			for (int i = 0; i < properties.length; i++) {
+				this.getters[i] = lookup.unreflect(properties[i].getReadMethod()).asType(GETTER_TYPE);
+				this.setters[i] = lookup.unreflect(properties[i].getWriteMethod()).asType(SETTER_TYPE);
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(String.format("Unable to access the properties of [%s]", type.getName()), e);
+		}
+	}
+
+	/**
+	 * Gets the merger of a class, built on first use
+	 * @param type bean type
+	 * @return the merger of the class
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> NullAwareMerger<T> of(Class<T> type) {
+		return (NullAwareMerger<T>) MERGERS.get(type);
+	}
+
+	/**
+	 * Copies each property of the source into the target when the target value is null
+	 * @param source bean whose properties are copied
+	 * @param target bean whose null properties are set
+	 */
+	public void merge(T source, T target) {
+		try {
+			for (int i = 0; i < this.getters.length; i++) {
+				if (this.getters[i].invokeExact((Object) target) == null) {
+					this.setters[i].invokeExact((Object) target, this.getters[i].invokeExact((Object) source));
+				}
+			}
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Copies each non-null property of the source into the target, as a PATCH does
+	 * @param source bean holding the changes
+	 * @param target bean to be changed
+	 */
+	public void copyNonNull(T source, T target) {
+		try {
+			for (int i = 0; i < this.getters.length; i++) {
+				var value = this.getters[i].invokeExact((Object) source);
+				if (value != null) {
+					this.setters[i].invokeExact((Object) target, value);
+				}
+			}
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Copies every property of the source into the target, as a PUT does
+	 * @param source bean holding the new state
+	 * @param target bean to be changed
+	 */
+	public void copyAll(T source, T target) {
+		try {
+			for (int i = 0; i < this.getters.length; i++) {
+				this.setters[i].invokeExact((Object) target, this.getters[i].invokeExact((Object) source));
+			}
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -19,4 +19,11 @@ public interface TouremObjectMapper<E extends TouremEntity, D extends TouremDto>
      * @return the dto corresponding to the entity
      */
     D mapToDto(E source);
+
+    /**
+     * Copies a DTO, along with the DTOs it embeds, so that a cached DTO is never shared with its callers
+     * @param source DTO to be copied
+     * @return the copy
+     */
+    D copy(D source);
 }
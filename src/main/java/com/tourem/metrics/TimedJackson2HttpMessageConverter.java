@@ -0,0 +1,44 @@
+package com.tourem.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Times the JSON serialization of the response bodies, as the serialization stage of the operation
+ * of the handler. The bodies served by the response cache are not serialized again, so they are not timed.
+ */
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+	private final TouremMetrics metrics;
+
+	public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper, TouremMetrics metrics) {
+		super(objectMapper);
+		this.metrics = metrics;
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+		var attributes = RequestContextHolder.getRequestAttributes();
+		var handler = isNull(attributes) ? null : attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		var operation = this.metrics.handlerOperation(handler);
+		var timer = this.metrics.stageTimer(operation.entity(), operation.operation(), TouremStage.SERIALIZATION);
+
+		var start = System.nanoTime();
+		try {
+			super.writeInternal(object, type, outputMessage);
+		} finally {
+			timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.tourem.metrics;
+
+import com.tourem.controller.AbstractTouremController;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Times the stages of the operations, as tourem.operation.stage tagged by entity, operation and stage.
+ * The whole requests are timed by http.server.requests, to which the entity and operation tags are added
+ * for the endpoints of the resources: the stages of an operation tell where its time goes.
+ * The percentiles and histograms are configured by management.metrics.distribution.
+ */
+@Component
+public class TouremMetrics {
+
+	public static final String STAGE_TIMER = "tourem.operation.stage";
+	public static final String REQUEST_STATEMENTS = "tourem.request.statements";
+	public static final String ENTITY_TAG = "entity";
+	public static final String OPERATION_TAG = "operation";
+	public static final String STAGE_TAG = "stage";
+	private static final String NONE = "none";
+
+	private final MeterRegistry registry;
+	private final BeanFactory beanFactory;
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+	public TouremMetrics(MeterRegistry registry, BeanFactory beanFactory) {
+		this.registry = registry;
+		this.beanFactory = beanFactory;
+	}
+
+	/**
+	 * Times one stage of an operation
+	 * @param entity name of the entity
+	 * @param operation operation the stage belongs to
+	 * @param stage timed stage
+	 * @param work work of the stage
+	 * @return the result of the work
+	 */
+	public <T> T record(String entity, TouremOperation operation, TouremStage stage, Supplier<T> work) {
+		return stageTimer(entity, operation.getValue(), stage).record(work);
+	}
+
+	/**
+	 * Times one stage of an operation
+	 * @param entity name of the entity
+	 * @param operation operation the stage belongs to
+	 * @param stage timed stage
+	 * @param work work of the stage
+	 */
+	public void record(String entity, TouremOperation operation, TouremStage stage, Runnable work) {
+		stageTimer(entity, operation.getValue(), stage).record(work);
+	}
+
+	/**
+	 * Gets the timer of a stage, registered once
+	 * @param entity name of the entity
+	 * @param operation name of the operation
+	 * @param stage timed stage
+	 * @return the timer of the stage
+	 */
+	public Timer stageTimer(String entity, String operation, TouremStage stage) {
+		return this.timers.computeIfAbsent(String.join("/", entity, operation, stage.getValue()), key -> Timer.builder(STAGE_TIMER)
+			.description("Time spent in one stage of an operation")
+			.tags(ENTITY_TAG, entity, OPERATION_TAG, operation, STAGE_TAG, stage.getValue())
+			.register(this.registry));
+	}
+
+	/**
+	 * Records the number of statements run by a request
+	 * @param handler handler of the request, may be null
+	 * @param statements number of statements
+	 */
+	public void recordRequestStatements(Object handler, int statements) {
+		DistributionSummary.builder(REQUEST_STATEMENTS)
+			.description("Number of SQL statements run by a request")
+			.baseUnit("statements")
+			.tags(handlerOperation(handler).toTags())
+			.register(this.registry)
+			.record(statements);
+	}
+
+	/**
+	 * Gets the entity and operation of the handler of a request: the entity of the controller and the name
+	 * of its method, none for the other handlers so that every request has the same tags.
+	 * The handler exposed in the request attributes still holds the name of its bean, which is resolved here.
+	 * @param handler handler of the request, may be null
+	 * @return the entity and operation of the handler
+	 */
+	public HandlerOperation handlerOperation(Object handler) {
+		if (handler instanceof HandlerMethod method) {
+			var bean = method.getBean() instanceof String beanName ? this.beanFactory.getBean(beanName) : method.getBean();
+			if (bean instanceof AbstractTouremController<?> controller) {
+				return new HandlerOperation(controller.getEntityName(), method.getMethod().getName());
+			}
+		}
+		return new HandlerOperation(NONE, NONE);
+	}
+
+	/**
+	 * Entity and operation served by a request handler
+	 */
+	public record HandlerOperation(String entity, String operation) {
+
+		public Tags toTags() {
+			return Tags.of(ENTITY_TAG, this.entity, OPERATION_TAG, this.operation);
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.tourem.metrics;
+
+/**
+ * Operation of a service, named as the controller method serving it
+ */
+public enum TouremOperation {
+	FIND("find"),
+	FIND_ALL("findAll"),
+	FIND_ALL_BY_CURSOR("findAllByCursor"),
+	CREATE("create"),
+	PATCH("patch"),
+	PUT("put"),
+	DELETE("delete");
+
+	private final String value;
+
+	TouremOperation(String value) {
+		this.value = value;
+	}
+
+	public String getValue() {
+		return this.value;
+	}
+}
@@ -0,0 +1,27 @@
+package com.tourem.metrics;
+
+/**
+ * Stage of an operation timed on its own, as the stage tag of tourem.operation.stage
+ */
+public enum TouremStage {
+	/** construction of the specification by the query builder */
+	QUERY("query"),
+	/** repository call, including the flush of the writes */
+	REPOSITORY("repository"),
+	/** MapStruct mapping, including the lazy associations it loads */
+	MAPPING("mapping"),
+	/** validation of the written entity */
+	VALIDATION("validation"),
+	/** JSON serialization of the response body */
+	SERIALIZATION("serialization");
+
+	private final String value;
+
+	TouremStage(String value) {
+		this.value = value;
+	}
+
+	public String getValue() {
+		return this.value;
+	}
+}
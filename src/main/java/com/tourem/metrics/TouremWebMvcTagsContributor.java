@@ -0,0 +1,31 @@
+package com.tourem.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Adds the entity and operation tags to the http.server.requests timer
+ */
+@Component
+public class TouremWebMvcTagsContributor implements WebMvcTagsContributor {
+
+	private final TouremMetrics metrics;
+
+	public TouremWebMvcTagsContributor(TouremMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler, Throwable exception) {
+		return this.metrics.handlerOperation(handler).toTags();
+	}
+
+	@Override
+	public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+		return this.metrics.handlerOperation(handler).toTags();
+	}
+}
@@ -0,0 +1,38 @@
+package com.tourem.search;
+
+import com.tourem.dao.entities.ArticleEntity;
+
+import java.util.List;
+
+/**
+ * Full-text search over the title and the payload of the articles
+ */
+public interface ArticleSearchEngine {
+	/**
+	 * Searches the articles matching a text query
+	 * @param query text to be searched
+	 * @param limit maximum number of results
+	 * @return the IDs of the matching articles, best ranked first
+	 */
+	List<String> search(String query, int limit);
+
+	/**
+	 * Adds or replaces an article in the search index
+	 * @param article article to be indexed
+	 */
+	void index(ArticleEntity article);
+
+	/**
+	 * Removes an article from the search index
+	 * @param id ID of the article to be removed
+	 */
+	void remove(String id);
+
+	/**
+	 * Tells if the index has to be updated by the application on writes
+	 * @return false when the database maintains the index itself
+	 */
+	default boolean isMaintainedOnWrite() {
+		return true;
+	}
+}
@@ -0,0 +1,73 @@
+package com.tourem.search;
+
+import com.tourem.cache.TouremResponseCache;
+import com.tourem.dao.entities.ArticleEntity;
+import com.tourem.dao.entities.TouremEntity;
+import com.tourem.dao.repositories.ArticleRepository;
+import com.tourem.dto.ArticleDto;
+import com.tourem.events.TouremDomainEvent;
+import com.tourem.events.TouremEventSubscriber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Keeps the article search index up to date from the domain events, off the request path.
+ * The articles of a batch are read once, in their committed state: the live ones are indexed and the others
+ * removed, whatever the events were, so that a batch can be replayed.
+ * The cached article responses are invalidated once the batch is indexed, as the invalidation made by the writes
+ * happens before the index is updated and lets stale search results be cached in between.
+ */
+@Slf4j
+@Component
+public class ArticleSearchIndexer implements TouremEventSubscriber {
+
+	private final ArticleSearchEngine searchEngine;
+	private final ArticleRepository repository;
+	private final TransactionTemplate transaction;
+	private final TouremResponseCache responseCache;
+
+	public ArticleSearchIndexer(ArticleSearchEngine searchEngine, ArticleRepository repository, PlatformTransactionManager transactionManager,
+								TouremResponseCache responseCache) {
+		this.searchEngine = searchEngine;
+		this.repository = repository;
+		this.responseCache = responseCache;
+		// not read-only: a read-only transaction could be routed to a replica which has not seen the commit yet.
+		// A new transaction: never joined to the completed transaction of a writer
+		this.transaction = new TransactionTemplate(transactionManager);
+		this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	@Override
+	public boolean supports(Class<? extends TouremEntity> entityType) {
+		return ArticleEntity.class.equals(entityType) && this.searchEngine.isMaintainedOnWrite();
+	}
+
+	@Override
+	public void onEvents(List<TouremDomainEvent> events) {
+		var ids = events.stream().map(TouremDomainEvent::entityId).collect(Collectors.toCollection(LinkedHashSet::new));
+		var articles = this.transaction.execute(status -> this.repository.findAllById(ids)
+			.stream()
+			.collect(Collectors.toMap(ArticleEntity::getId, Function.identity())));
+
+		for (var id : ids) {
+			var article = isNull(articles) ? null : articles.get(id);
+			if (isNull(article) || article.hasDeletedAt()) {
+				this.searchEngine.remove(id);
+			} else {
+				this.searchEngine.index(article);
+			}
+		}
+		this.responseCache.invalidate(ArticleDto.class);
+		log.debug("Indexed the articles of [{}] events", events.size());
+	}
+}
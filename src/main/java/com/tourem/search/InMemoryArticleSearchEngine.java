@@ -0,0 +1,178 @@
+package com.tourem.search;
+
+import com.tourem.dao.entities.ArticleEntity;
+import com.tourem.dao.repositories.ArticleRepository;
+import com.tourem.dao.specifications.AbstractTouremQueryBuilder;
+import com.tourem.dao.specifications.TouremCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.Objects.isNull;
+
+/**
+ * In-process inverted index ranking the articles with BM25.
+ * The index is built from the database when the application starts, then kept up to date
+ * as articles are created, updated and deleted. It holds the terms of every article in memory,
+ * so it is meant for small corpora and for the databases without a full-text search of their own.
+ */
+@Slf4j
+public class InMemoryArticleSearchEngine implements ArticleSearchEngine {
+
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final int TITLE_BOOST = 2;
+	private static final int BUILD_CHUNK_SIZE = 500;
+
+	private final ArticleRepository repository;
+	private final TransactionTemplate readOnlyTransaction;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+	private final Map<String, Map<String, Integer>> documents = new HashMap<>();
+	private final Map<String, Integer> documentLengths = new HashMap<>();
+	private long totalLength;
+
+	public InMemoryArticleSearchEngine(ArticleRepository repository, TransactionTemplate readOnlyTransaction) {
+		this.repository = repository;
+		this.readOnlyTransaction = readOnlyTransaction;
+	}
+
+	/**
+	 * Builds the index from the articles stored in the database, in chunks read with keyset pagination
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void build() {
+		log.info("Building the article search index");
+		var cursor = TouremCursor.first("id", Sort.Direction.ASC);
+		var indexed = 0;
+		List<ArticleEntity> chunk;
+		do {
+			var position = cursor;
+			chunk = this.readOnlyTransaction.execute(status -> this.repository.findAllAfter(AbstractTouremQueryBuilder.notDeleted(), position, BUILD_CHUNK_SIZE));
+			if (isNull(chunk) || chunk.isEmpty()) {
+				break;
+			}
+			chunk.forEach(this::apply);
+			indexed += chunk.size();
+			var last = chunk.get(chunk.size() - 1);
+			cursor = cursor.next(last.getId(), last.getId());
+		} while (chunk.size() == BUILD_CHUNK_SIZE);
+		log.info("Article search index built with [{}] articles", indexed);
+	}
+
+	@Override
+	public List<String> search(String query, int limit) {
+		var terms = new HashSet<>(SearchTokenizer.tokenize(query));
+		Map<String, Double> scores = new HashMap<>();
+
+		this.lock.readLock().lock();
+		try {
+			var count = this.documents.size();
+			if (count == 0) {
+				return List.of();
+			}
+			var averageLength = (double) this.totalLength / count;
+
+			for (var term : terms) {
+				var termPostings = this.postings.get(term);
+				if (isNull(termPostings)) {
+					continue;
+				}
+				var idf = Math.log(1 + (count - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+				termPostings.forEach((id, frequency) -> {
+					var norm = K1 * (1 - B + B * this.documentLengths.get(id) / averageLength);
+					scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+				});
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+
+		return scores.entrySet()
+			.stream()
+			.sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+			.limit(limit)
+			.map(Map.Entry::getKey)
+			.toList();
+	}
+
+	/**
+	 * Indexes an article once the current transaction, if any, has committed
+	 * @param article article to be indexed
+	 */
+	@Override
+	public void index(ArticleEntity article) {
+		afterCommit(() -> apply(article));
+	}
+
+	/**
+	 * Removes an article once the current transaction, if any, has committed
+	 * @param id ID of the article to be removed
+	 */
+	@Override
+	public void remove(String id) {
+		afterCommit(() -> {
+			this.lock.writeLock().lock();
+			try {
+				unindex(id);
+			} finally {
+				this.lock.writeLock().unlock();
+			}
+		});
+	}
+
+	private void apply(ArticleEntity article) {
+		Map<String, Integer> frequencies = new HashMap<>();
+		SearchTokenizer.tokenize(article.getTitle()).forEach(term -> frequencies.merge(term, TITLE_BOOST, Integer::sum));
+		SearchTokenizer.tokenize(article.getPayload()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+		var length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+		this.lock.writeLock().lock();
+		try {
+			unindex(article.getId());
+			frequencies.forEach((term, frequency) -> this.postings.computeIfAbsent(term, key -> new HashMap<>()).put(article.getId(), frequency));
+			this.documents.put(article.getId(), frequencies);
+			this.documentLengths.put(article.getId(), length);
+			this.totalLength += length;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void unindex(String id) {
+		var frequencies = this.documents.remove(id);
+		if (isNull(frequencies)) {
+			return;
+		}
+		for (var term : frequencies.keySet()) {
+			var termPostings = this.postings.get(term);
+			termPostings.remove(id);
+			if (termPostings.isEmpty()) {
+				this.postings.remove(term);
+			}
+		}
+		this.totalLength -= this.documentLengths.remove(id);
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,48 @@
+package com.tourem.search;
+
+import com.tourem.dao.entities.ArticleEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Full-text search relying on the PostgreSQL text search.
+ * The query uses the same expression as the GIN index created by schema-postgresql.sql,
+ * so the database keeps the index up to date and no work is needed on writes.
+ */
+public class PostgresArticleSearchEngine implements ArticleSearchEngine {
+
+	private static final String SEARCH_QUERY = """
+		select a.id
+		from tourem.article a, plainto_tsquery('simple', ?) q
+		where to_tsvector('simple', a.title || ' ' || a.payload) @@ q
+		and a.deleted_at is null
+		order by ts_rank(to_tsvector('simple', a.title || ' ' || a.payload), q) desc
+		limit ?""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public PostgresArticleSearchEngine(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public List<String> search(String query, int limit) {
+		return this.jdbcTemplate.queryForList(SEARCH_QUERY, String.class, query, limit);
+	}
+
+	@Override
+	public void index(ArticleEntity article) {
+		// maintained by the database
+	}
+
+	@Override
+	public void remove(String id) {
+		// maintained by the database
+	}
+
+	@Override
+	public boolean isMaintainedOnWrite() {
+		return false;
+	}
+}
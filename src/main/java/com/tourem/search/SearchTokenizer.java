@@ -0,0 +1,36 @@
+package com.tourem.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Splits texts into lower-cased, accent-free search terms
+ */
+public final class SearchTokenizer {
+
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final int MIN_TERM_LENGTH = 2;
+
+	private SearchTokenizer() {
+	}
+
+	public static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		if (isNull(text) || text.isBlank()) {
+			return terms;
+		}
+		var normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+		for (var term : SEPARATORS.split(normalized)) {
+			if (term.length() >= MIN_TERM_LENGTH) {
+				terms.add(term);
+			}
+		}
+		return terms;
+	}
+}
@@ -1,39 +1,311 @@
 package com.tourem.service;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.tourem.cache.NoOpTouremCache;
+import com.tourem.cache.TouremCache;
+import com.tourem.cache.TouremCacheManager;
+import com.tourem.cache.TouremEntityCaches;
+import com.tourem.cache.TouremIdFilter;
+import com.tourem.cache.TouremIdFilterStats;
+import com.tourem.cache.TouremResponseCache;
 import com.tourem.dao.entities.TouremEntity;
+import com.tourem.dao.ids.TouremIdStorage;
+import com.tourem.dao.ids.UuidStringJavaTypeDescriptor;
+import com.tourem.dao.repositories.TableStatisticsRepository;
 import com.tourem.dao.repositories.TouremRepository;
+import com.tourem.dao.specifications.AbstractTouremQueryBuilder;
+import com.tourem.dao.specifications.TouremCursor;
+import com.tourem.dao.specifications.TouremMatchMode;
 import com.tourem.dao.specifications.TouremQueryBuilder;
+import com.tourem.datasource.ReplicaRoutingDataSource;
+import com.tourem.datasource.StatementOrigin;
+import com.tourem.dto.TotalMode;
+import com.tourem.dto.TouremBulkResult;
+import com.tourem.dto.TouremCursorPage;
 import com.tourem.dto.TouremDto;
+import com.tourem.dto.TouremPage;
+import com.tourem.events.TouremDomainEvent;
+import com.tourem.events.TouremEventPublisher;
+import com.tourem.events.TouremEventType;
+import com.tourem.exceptions.InvalidRequestException;
+import com.tourem.exceptions.PayloadTooLargeException;
+import com.tourem.exceptions.PreconditionFailedException;
 import com.tourem.exceptions.ResourceCreationFailedException;
 import com.tourem.exceptions.ResourceNotFoundException;
+import com.tourem.exceptions.TouremExceptionHandler;
+import com.tourem.logging.TouremObjectDumper;
+import com.tourem.mappers.NullAwareMerger;
 import com.tourem.mappers.TouremObjectMapper;
+import com.tourem.metrics.TouremMetrics;
+import com.tourem.metrics.TouremOperation;
+import com.tourem.metrics.TouremStage;
 import com.tourem.validation.TouremValidation;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapperImpl;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-import static java.util.Optional.ofNullable;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 @Slf4j
 public abstract class AbstractTouremService<E extends TouremEntity, D extends TouremDto> implements TouremService<D> {
 
+	private static final Set<String> CONTROL_CRITERIA = Set.of("page", "size", "sortBy", "sortDirection", "withTotal", "cursor", "expand", "format");
+	/** change which rows the filters match, so they are part of the key of the cached totals, but do not filter alone */
+	private static final Set<String> MATCH_OPTIONS = Set.of(TouremMatchMode.MATCH_CRITERIA, TouremMatchMode.IGNORE_CASE_CRITERIA);
+	private static final String NO_EXPANSION = "none";
+
 	protected final TouremRepository<E> repository;
 	protected final TouremObjectMapper<E, D> mapper;
 	protected final TouremQueryBuilder<E> queryBuilder;
 	protected final TouremValidation<E> validator;
+	protected final Class<E> entityType;
+	protected final Class<D> dtoType;
+
+	private TouremCache<String, D> cache;
+	private TouremEntityCaches entityCaches;
+	private TouremCache<String, Long> countCache;
+	private TableStatisticsRepository tableStatistics;
+	private List<SingularAttribute<? super E, ?>> associationAttributes = List.of();
+	private Set<String> associations = Set.of();
+	private Set<String> defaultFetchPlan = Set.of();
+	private boolean trustedPersistence;
+	private TransactionTemplate transactionTemplate;
+	private int bulkChunkSize = 50;
+	private int bulkMaxItems = 1000;
+	private EntityManager entityManager;
+	private int exportFetchSize = 500;
+	private TouremResponseCache responseCache;
+	private boolean softDelete;
+	private TouremEventPublisher eventPublisher;
+	private TouremMetrics metrics;
+	private TouremObjectDumper objectDumper;
+	private TouremIdFilter idFilter;
+	private boolean uuidIds;
+	private final Set<String> unindexedSorts = ConcurrentHashMap.newKeySet();
 
+	@SuppressWarnings("unchecked")
 	protected AbstractTouremService(TouremRepository<E> repository, TouremObjectMapper<E, D> mapper, TouremQueryBuilder<E> queryBuilder, TouremValidation<E> validator) {
 		this.repository = repository;
 		this.mapper = mapper;
 		this.queryBuilder = queryBuilder;
 		this.validator = validator;
+		var typeArguments = Objects.requireNonNull(GenericTypeResolver.resolveTypeArguments(getClass(), AbstractTouremService.class));
+		this.entityType = (Class<E>) typeArguments[0];
+		this.dtoType = (Class<D>) typeArguments[1];
+		this.cache = new NoOpTouremCache<>(this.entityType.getSimpleName());
+		this.countCache = new NoOpTouremCache<>(this.entityType.getSimpleName() + ".count");
+	}
+
+	/**
+	 * Plugs the read-through cache used by {@link #find(String)}.
+	 * Entries are keyed by ID and evicted on every patch, put and delete of the resource.
+	 * Entries are also cleared by the writes of the resources they embed, registered in the entity caches.
+	 * Also plugs the short-lived count cache used by {@link #findAll(Map)} with {@code withTotal=cached}.
+	 * @param cacheManager manager providing one cache per entity type
+	 * @param entityCaches entity caches of every service, cleared by the writes of the resources they embed
+	 * @param countTtl time to live of the cached totals
+	 */
+	@Autowired
+	public void setCacheManager(TouremCacheManager cacheManager, TouremEntityCaches entityCaches, @Value("${tourem.cache.count-ttl:30s}") Duration countTtl) {
+		this.cache = cacheManager.getCache(this.entityType.getSimpleName());
+		this.entityCaches = entityCaches;
+		entityCaches.register(this.dtoType, this.cache);
+		this.countCache = cacheManager.getCache(this.entityType.getSimpleName() + ".count", 1000, countTtl);
+	}
+
+	/**
+	 * Plugs the cache of the serialized responses, invalidated by every create, patch, put and delete of the resource
+	 * @param responseCache cache of the serialized responses
+	 */
+	@Autowired
+	public void setResponseCache(TouremResponseCache responseCache) {
+		this.responseCache = responseCache;
+	}
+
+	/**
+	 * Plugs the publisher of the domain events, sent to the subscribers once the write has committed.
+	 * Work which does not have to be part of the write, such as indexing, belongs to a subscriber
+	 * rather than to the processAfter hooks, which run in the transaction of the request.
+	 * @param eventPublisher publisher of the domain events
+	 */
+	@Autowired
+	public void setEventPublisher(TouremEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+	}
+
+	/**
+	 * Plugs the timers of the stages of the operations: query builder, repository, mapping and validation
+	 * @param metrics timers of the stages
+	 */
+	@Autowired
+	public void setMetrics(TouremMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Plugs the sampled dumps of the entities logged at TRACE
+	 * @param objectDumper renderer of the whole state of the entities
+	 */
+	@Autowired
+	public void setObjectDumper(TouremObjectDumper objectDumper) {
+		this.objectDumper = objectDumper;
+	}
+
+	/**
+	 * Enables the Bloom filter of the IDs, answering the lookups of missing IDs without querying the database.
+	 * It only knows the rows created by this instance since its last build, and is rebuilt by the {@link IdFilterRebuilder}.
+	 * @param enabled true to enable the filter
+	 * @param falsePositiveRate false positive rate of the filter when full
+	 * @param minimumCapacity minimum number of IDs the filter is sized for
+	 */
+	@Autowired
+	public void setIdFilter(@Value("${tourem.id-filter.enabled:false}") boolean enabled,
+							@Value("${tourem.id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+							@Value("${tourem.id-filter.minimum-capacity:100000}") long minimumCapacity) {
+		this.idFilter = enabled ? new TouremIdFilter(getEntityName(), falsePositiveRate, minimumCapacity) : null;
+	}
+
+	/**
+	 * Reads the to-one associations of the entity from the JPA metamodel.
+	 * By default, the associations exposed by the DTO are join fetched by the read operations
+	 * and the other ones are left unloaded.
+	 * @param entityManagerFactory factory holding the JPA metamodel
+	 */
+	@Autowired
+	public void setEntityManagerFactory(EntityManagerFactory entityManagerFactory) {
+		var singularAssociations = entityManagerFactory
+			.getMetamodel()
+			.entity(this.entityType)
+			.getSingularAttributes()
+			.stream()
+			.filter(Attribute::isAssociation)
+			.toList();
+		this.associations = singularAssociations
+			.stream()
+			.map(Attribute::getName)
+			.collect(Collectors.toUnmodifiableSet());
+		this.associationAttributes = singularAssociations
+			.stream()
+			.filter(attribute -> attribute.getJavaMember() instanceof Field)
+			.peek(attribute -> ReflectionUtils.makeAccessible((Field) attribute.getJavaMember()))
+			.toList();
+		this.defaultFetchPlan = this.associations
+			.stream()
+			.filter(name -> nonNull(BeanUtils.getPropertyDescriptor(this.dtoType, name)))
+			.collect(Collectors.toUnmodifiableSet());
+	}
+
+	@Autowired
+	public void setTableStatistics(TableStatisticsRepository tableStatistics) {
+		this.tableStatistics = tableStatistics;
+	}
+
+	/**
+	 * In trusted persistence mode, created resources are returned without being read back from the DB
+	 * and deletes are issued as a single conditional statement whose row count tells if the resource existed.
+	 * @param trustedPersistence true to enable the trusted persistence mode
+	 */
+	@Autowired
+	public void setTrustedPersistence(@Value("${tourem.persistence.trusted:false}") boolean trustedPersistence) {
+		this.trustedPersistence = trustedPersistence;
+	}
+
+	/**
+	 * Plugs the transaction manager running each chunk of the bulk operations in its own transaction
+	 * @param transactionManager the transaction manager
+	 */
+	@Autowired
+	public void setTransactionManager(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Number of items of a bulk operation persisted in one transaction.
+	 * Should be a multiple of the JDBC batch size.
+	 * @param bulkChunkSize the chunk size
+	 */
+	@Autowired
+	public void setBulkChunkSize(@Value("${tourem.bulk.chunk-size:50}") int bulkChunkSize) {
+		this.bulkChunkSize = bulkChunkSize;
+	}
+
+	/**
+	 * Maximum number of items of a bulk operation, a larger request is rejected before any chunk is processed
+	 * @param bulkMaxItems the maximum number of items
+	 */
+	@Autowired
+	public void setBulkMaxItems(@Value("${tourem.bulk.max-items:1000}") int bulkMaxItems) {
+		this.bulkMaxItems = bulkMaxItems;
+	}
+
+	/**
+	 * Tells how the IDs are stored. Stored as UUIDs, an ID is accepted in several forms, which the entity cache
+	 * normalizes so that the writes evict the entry read under any of them.
+	 * @param idStorage string or uuid
+	 */
+	@Autowired
+	public void setIdStorage(@Value("${tourem.persistence.id-storage:string}") String idStorage) {
+		this.uuidIds = TouremIdStorage.fromValue(idStorage) == TouremIdStorage.UUID;
+	}
+
+	@PersistenceContext
+	public void setEntityManager(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	/**
+	 * Deletes the resources by setting their deletedAt with a single UPDATE rather than removing their rows.
+	 * The read operations never return the soft-deleted rows, which are hard-deleted later by the {@link TombstonePurger}.
+	 * @param softDelete true to soft delete
+	 */
+	@Autowired
+	public void setSoftDelete(@Value("${tourem.persistence.soft-delete:false}") boolean softDelete) {
+		this.softDelete = softDelete;
+	}
+
+	/**
+	 * Number of rows fetched per round-trip by the streaming export.
+	 * It also bounds the number of rows held by the persistence context during the export.
+	 * @param exportFetchSize the fetch size
+	 */
+	@Autowired
+	public void setExportFetchSize(@Value("${tourem.export.fetch-size:500}") int exportFetchSize) {
+		this.exportFetchSize = exportFetchSize;
 	}
 
 	/**
@@ -44,10 +316,29 @@ public abstract class AbstractTouremService<E extends TouremEntity, D extends To
 	@Override
 	@Transactional(readOnly = true)
 	public D find(String id) {
-		return this.repository
-				   .findById(id)
-				   .map(mapper::mapToDto)
-				   .orElseThrow(() -> new ResourceNotFoundException(String.format("Resource with ID [%s] not found", id)));
+		var fromReplica = new AtomicBoolean();
+		// a missing row is loaded as null rather than thrown from the loader, where the cache would wrap it
+		var dto = this.cache.get(cacheKeyOf(id), key -> {
+			if (isCertainlyMissing(key)) {
+				return null;
+			}
+			var entity = timed(TouremOperation.FIND, TouremStage.REPOSITORY,
+				() -> this.repository.findOne(idEquals(key).and(AbstractTouremQueryBuilder.notDeleted()).and(fetchPlan(this.defaultFetchPlan))));
+			fromReplica.set(ReplicaRoutingDataSource.isTransactionOnReplica());
+			if (entity.isEmpty()) {
+				recordFalsePositive();
+			}
+			return timed(TouremOperation.FIND, TouremStage.MAPPING, () -> entity.map(mapper::mapToDto)).orElse(null);
+		});
+		if (isNull(dto)) {
+			throw new ResourceNotFoundException(String.format("Resource with ID [%s] not found", id));
+		}
+		if (fromReplica.get()) {
+			// a replica may not have caught up with a write whose eviction has already happened
+			this.cache.evict(cacheKeyOf(id), dto);
+		}
+		// the cached DTO is copied, so that the callers cannot change it
+		return this.mapper.copy(dto);
 	}
 
 	/**
@@ -58,9 +349,9 @@ public abstract class AbstractTouremService<E extends TouremEntity, D extends To
 	@Override
 	@Transactional(readOnly = true)
 	public D find(Map<String, String> criteria) {
-		return this.repository
-				   .findOne(this.queryBuilder.buildQuerySpecification(criteria))
-				   .map(mapper::mapToDto)
+		var querySpec = timed(TouremOperation.FIND, TouremStage.QUERY, () -> this.queryBuilder.buildQuerySpecification(criteria).and(fetchPlan(criteria)));
+		var entity = timed(TouremOperation.FIND, TouremStage.REPOSITORY, () -> this.repository.findOne(querySpec));
+		return timed(TouremOperation.FIND, TouremStage.MAPPING, () -> entity.map(mapper::mapToDto))
 				   .orElseThrow(() -> new ResourceNotFoundException(String.format("Resource with criteria [%s] not found", criteria)));
 	}
 
@@ -73,69 +364,85 @@ public abstract class AbstractTouremService<E extends TouremEntity, D extends To
 	@Transactional
 	public D create(D data) {
 		// map to entity
-		E e = mapper.mapToEntity(data);
+		E e = timed(TouremOperation.CREATE, TouremStage.MAPPING, () -> mapper.mapToEntity(data));
 
 		// validate
-		applyPrePersistValidation(e);
+		timed(TouremOperation.CREATE, TouremStage.VALIDATION, () -> applyPrePersistValidation(e));
 
 		// pre persist
 		processBeforeCreate(e);
+		resolveAssociations(e);
 
 		// save
-		E res = this.repository.save(e);
+		E res = timed(TouremOperation.CREATE, TouremStage.REPOSITORY, () -> this.repository.save(e));
 
 		// post persist
 		processAfterCreate(res);
+		addToIdFilter(res.getId());
+		publishEvent(TouremEventType.CREATED, res.getId());
+		invalidateCachedResponses();
 
 		// map and return results
-		return mapper.mapToDto(res);
+		return timed(TouremOperation.CREATE, TouremStage.MAPPING, () -> mapper.mapToDto(res));
 	}
 
 	protected void applyPrePersistValidation(E entity) {
-		log.info("Pre persist validation of [{}]", entity);
+		log.debug("Pre persist validation of [{}]", entity);
 
 		var vResults = this.validator.validate(entity);
 
 		if (!vResults.isEmpty()) {
 			log.debug("Entity [{}] validation failed with message: [{}]", entity, vResults);
-			throw new IllegalArgumentException(String.format("Entity [%s] validation failed with message: [%s]", entity, vResults));
+			throw new InvalidRequestException(String.format("Entity [%s] validation failed with message: [%s]", entity, vResults));
 		}
 
 		if (entity.hasId()) {
 			log.debug("Field id not allowed for create operation for object: [{}]", entity);
-			throw new IllegalArgumentException(String.format("Field id not allowed for create operation for object: [%s]", entity));
+			throw new InvalidRequestException(String.format("Field id not allowed for create operation for object: [%s]", entity));
 		}
 
 		if (Objects.nonNull(entity.getCreatedAt())) {
 			log.debug("Field createdAt not allowed for create operation for object: [{}]", entity);
-			throw new IllegalArgumentException(String.format("Field createdAt not allowed for create operation for object: [%s]", entity));
+			throw new InvalidRequestException(String.format("Field createdAt not allowed for create operation for object: [%s]", entity));
 		}
 
 		if (Objects.nonNull(entity.getUpdatedAt())) {
 			log.debug("Field updatedAt not allowed for create operation for entity [{}]", entity);
-			throw new IllegalArgumentException(String.format("Field updatedAt not allowed for create operation for entity [%s]", entity));
+			throw new InvalidRequestException(String.format("Field updatedAt not allowed for create operation for entity [%s]", entity));
 		}
 
 		if (Objects.nonNull(entity.getDeletedAt())) {
 			log.debug("Field deletedAt not allowed for create operation for entity [{}]", entity);
-			throw new IllegalArgumentException(String.format("Field deletedAt not allowed for create operation for entity [%s]", entity));
+			throw new InvalidRequestException(String.format("Field deletedAt not allowed for create operation for entity [%s]", entity));
+		}
+
+		if (entity.hasVersion()) {
+			log.debug("Field version not allowed for create operation for entity [{}]", entity);
+			throw new InvalidRequestException(String.format("Field version not allowed for create operation for entity [%s]", entity));
 		}
 	}
 
 	protected void processBeforeCreate(E entity) {
-		log.info("Processing entity before create: [{}]", entity);
+		log.debug("Processing entity before create: [{}]", entity);
+		traceDump("Before create", entity);
 	}
 
 	protected void processAfterCreate(E entity) {
-		log.info("Processing entity after create: [{}]", entity);
+		log.debug("Processing entity after create: [{}]", entity);
+		traceDump("After create", entity);
+
+		if (this.trustedPersistence) {
+			return;
+		}
 
-		// check if entity has been persisted
+		// check if entity has been persisted - read from the repository as find(id) would cache
+		// the resource as seen by this transaction, with unresolved associations
 		try {
-			ofNullable(this.find(entity.getId()))
-				.ifPresent(e -> log.info(String.format("Resource successfully persisted in DB [%s]", e)));
+			var persisted = this.repository.findById(entity.getId()).orElseThrow();
+			log.debug("Resource successfully persisted in DB [{}]", persisted);
 
 		} catch (Exception e) {
-			log.debug(String.format("Unable to persisted resource in DB in DB [%s]", entity));
+			log.debug("Unable to persisted resource in DB in DB [{}]", entity);
 			throw new ResourceCreationFailedException(String.format("Resource created but not persisted in DB [%s]", entity));
 		}
 	}
@@ -150,52 +457,74 @@ public abstract class AbstractTouremService<E extends TouremEntity, D extends To
 	@Transactional
 	public D patch(D data) {
 		// map to entity
-		E e = this.mapper.mapToEntity(data);
+		E e = timed(TouremOperation.PATCH, TouremStage.MAPPING, () -> this.mapper.mapToEntity(data));
 
 		// initial validation
-		applyInitialCheckBeforePatch(e);
+		timed(TouremOperation.PATCH, TouremStage.VALIDATION, () -> applyInitialCheckBeforePatch(e));
 
 		// process before update
 		processBeforePatch(e);
 
-		// save
-		E res = this.repository.save(e);
+		// apply the changes to the managed entity then flush them
+		E res = timed(TouremOperation.PATCH, TouremStage.REPOSITORY, () -> {
+			var patched = applyPatch(e);
+			this.repository.flush();
+			return patched;
+		});
+		evictFromCache(res.getId());
 
 		// process after update
 		processAfterPatch(res);
+		publishEvent(TouremEventType.PATCHED, res.getId());
 
 		// map to dto and returns
-		return this.mapper.mapToDto(res);
+		return timed(TouremOperation.PATCH, TouremStage.MAPPING, () -> this.mapper.mapToDto(initializeAssociations(res)));
 	}
 
 	public void applyInitialCheckBeforePatch(E entity) {
-		log.info("Validation of [{}] before PATCH", entity);
+		log.debug("Validation of [{}] before PATCH", entity);
 
 		if (!entity.hasId()) {
 			log.debug("The ID of the object to update is missing - [{}]", entity);
-			throw new IllegalArgumentException(String.format("The ID is mandatory for update operation: [%s]", entity));
+			throw new InvalidRequestException(String.format("The ID is mandatory for update operation: [%s]", entity));
 		}
 
-		if (!this.repository.existsById(entity.getId())) {
+		// load rather than count: the managed entity the changes are applied to is then served by the
+		// persistence context, and bulk patches prefetch the rows of a whole chunk with one query
+		if (findLive(entity.getId()).isEmpty()) {
 			log.debug("Trying to update a row with an invalid ID : [{}]", entity);
-			throw new IllegalArgumentException(String.format("The ID of the row to update is not valid [%s]", entity));
+			throw new InvalidRequestException(String.format("The ID of the row to update is not valid [%s]", entity));
 		}
 
 		if (entity.hasDeletedAt()) {
 			log.debug("Using deleteAt field on update operation [{}]", entity);
-			throw new IllegalArgumentException(String.format("Field deletedAt not allowed for update operation for entity [%s]", entity));
+			throw new InvalidRequestException(String.format("Field deletedAt not allowed for update operation for entity [%s]", entity));
 		}
 	}
 
 	protected void processBeforePatch(E entity) {
-		log.info("Processing entity before patch: [{}]", entity);
-		this.repository
-			.findById(entity.getId())
-			.ifPresent(source -> mergeSourceToTarget(source, entity));
+		log.debug("Processing entity before patch: [{}]", entity);
+		traceDump("Before patch", entity);
+	}
+
+	/**
+	 * Copies the non-null fields of the patch into the managed entity.
+	 * Once flushed, dirty checking issues an UPDATE of the changed columns only.
+	 * @param entity patch data
+	 * @return the managed entity
+	 */
+	protected E applyPatch(E entity) {
+		E managed = findManaged(entity);
+		checkVersion(entity.getVersion(), managed);
+		entity.setVersion(managed.getVersion());
+		NullAwareMerger.of(this.entityType).copyNonNull(entity, managed);
+		resolveAssociations(managed);
+		return managed;
 	}
 
 	protected void processAfterPatch(E entity) {
-		log.info("Processing entity after patch: [{}]", entity);
+		log.debug("Processing entity after patch: [{}]", entity);
+		traceDump("After patch", entity);
 	}
 
 	/**
@@ -208,26 +537,32 @@ public abstract class AbstractTouremService<E extends TouremEntity, D extends To
 	@Transactional
 	public D put(D data) {
 		// map to entity
-		E e = this.mapper.mapToEntity(data);
+		E e = timed(TouremOperation.PUT, TouremStage.MAPPING, () -> this.mapper.mapToEntity(data));
 
 		// initial check
-		applyInitialCheckBeforePut(e);
+		timed(TouremOperation.PUT, TouremStage.VALIDATION, () -> applyInitialCheckBeforePut(e));
 
 		// process before put
 		processBeforePut(e);
 
-		// save
-		E res = this.repository.save(e);
+		// apply the new state to the managed entity then flush it
+		E res = timed(TouremOperation.PUT, TouremStage.REPOSITORY, () -> {
+			var replaced = applyPut(e);
+			this.repository.flush();
+			return replaced;
+		});
+		evictFromCache(res.getId());
 
 		// process after put
 		processAfterPut(res);
+		publishEvent(TouremEventType.PUT, res.getId());
 
 		// map to dto and return
-		return this.mapper.mapToDto(res);
+		return timed(TouremOperation.PUT, TouremStage.MAPPING, () -> this.mapper.mapToDto(initializeAssociations(res)));
 	}
 
 	public void applyInitialCheckBeforePut(E entity) {
-		log.info("Validation of [{}] before PUT", entity);
+		log.debug("Validation of [{}] before PUT", entity);
 
 		this.applyInitialCheckBeforePatch(entity);
 
@@ -235,17 +570,87 @@ public abstract class AbstractTouremService<E extends TouremEntity, D extends To
 
 		if (!vResults.isEmpty()) {
 			log.debug("Entity [{}] validation failed with message: [{}]", entity, vResults);
-			throw new IllegalArgumentException(String.format("Entity [%s] validation failed with message: [%s]", entity, vResults));
+			throw new InvalidRequestException(String.format("Entity [%s] validation failed with message: [%s]", entity, vResults));
 		}
 	}
 
 	protected void processBeforePut(E entity) {
-		log.info("Pre processing entity before put: [{}]", entity);
-		this.repository.findById(entity.getId()).ifPresent(e -> entity.setCreatedAt(e.getCreatedAt()));
+		log.debug("Pre processing entity before put: [{}]", entity);
+		traceDump("Before put", entity);
+		entity.setCreatedAt(findManaged(entity).getCreatedAt());
+	}
+
+	/**
+	 * Copies all the fields of the new state into the managed entity.
+	 * Once flushed, dirty checking issues an UPDATE of the changed columns only.
+	 * @param entity new state
+	 * @return the managed entity
+	 */
+	protected E applyPut(E entity) {
+		E managed = findManaged(entity);
+		checkVersion(entity.getVersion(), managed);
+		entity.setVersion(managed.getVersion());
+		NullAwareMerger.of(this.entityType).copyAll(entity, managed);
+		resolveAssociations(managed);
+		return managed;
+	}
+
+	/**
+	 * Gets the managed entity updated by a patch or a put.
+	 * It is served by the persistence context, the initial check having loaded it.
+	 */
+	private E findManaged(E entity) {
+		return findLive(entity.getId())
+			.orElseThrow(() -> new InvalidRequestException(String.format("The ID of the row to update is not valid [%s]", entity)));
+	}
+
+	/**
+	 * Rejects a change made from a version of the resource which is not the current one.
+	 * The version column also guards the UPDATE itself against concurrent transactions.
+	 * @param expectedVersion version known by the client, not checked when null
+	 * @param managed current state of the resource
+	 */
+	protected void checkVersion(Long expectedVersion, E managed) {
+		if (nonNull(expectedVersion) && !expectedVersion.equals(managed.getVersion())) {
+			log.debug("Version [{}] expected for resource [{}], found [{}]", expectedVersion, managed.getId(), managed.getVersion());
+			throw new PreconditionFailedException(String.format("The resource [%s] has been modified: version [%s] expected, [%s] found", managed.getId(), expectedVersion, managed.getVersion()));
+		}
+	}
+
+	/**
+	 * Replaces the associations mapped from the request, which only carry an ID, by references
+	 * to the associated entities, so that they are neither loaded by the write, nor mapped as empty resources,
+	 * nor taken for new entities because they have no version
+	 */
+	private void resolveAssociations(E managed) {
+		for (var association : this.associationAttributes) {
+			var field = (Field) association.getJavaMember();
+			if (ReflectionUtils.getField(field, managed) instanceof TouremEntity associated
+				&& !this.entityManager.contains(associated)
+				&& associated.hasId()) {
+				ReflectionUtils.setField(field, managed, this.entityManager.getReference(association.getJavaType(), associated.getId()));
+			}
+		}
+	}
+
+	/**
+	 * Loads the associations exposed by the DTO which are still references, so that the response of a patch or a put
+	 * maps them fully, as a read does, rather than as references holding only their ID
+	 * @param managed updated entity
+	 * @return the updated entity
+	 */
+	private E initializeAssociations(E managed) {
+		for (var association : this.associationAttributes) {
+			if (this.defaultFetchPlan.contains(association.getName())) {
+				Hibernate.initialize(ReflectionUtils.getField((Field) association.getJavaMember(), managed));
+			}
+		}
+		return managed;
 	}
 
 	protected void processAfterPut(E entity) {
-		log.info("Pre processing entity after put: [{}]", entity);
+		log.debug("Pre processing entity after put: [{}]", entity);
+		traceDump("After put", entity);
 	}
 
 	/**
@@ -253,40 +658,521 @@ public abstract class AbstractTouremService<E extends TouremEntity, D extends To
 	 * @param id ID of the resource to be deleted
 	 */
 	@Override
+	@Transactional
 	public void delete(String id) {
+		if (this.trustedPersistence) {
+			timed(TouremOperation.DELETE, TouremStage.REPOSITORY, () -> deleteTrusted(id));
+			processAfterDelete(id);
+			publishEvent(TouremEventType.DELETED, id);
+			return;
+		}
+
 		// check if ID exists before delete
-		if (!this.repository.existsById(id)) {
+		if (isCertainlyMissing(id) || timed(TouremOperation.DELETE, TouremStage.REPOSITORY, () -> this.repository.findExistingIds(List.of(id))).isEmpty()) {
 			log.debug("Trying to remove a resource with an invalid ID: [{}]", id);
-			throw new IllegalArgumentException(String.format("The resource you are trying to remove does not exists [%s]", id));
+			throw new InvalidRequestException(String.format("The resource you are trying to remove does not exists [%s]", id));
+		}
+
+		if (this.softDelete) {
+			timed(TouremOperation.DELETE, TouremStage.REPOSITORY, () -> this.repository.softDeleteById(id, LocalDateTime.now()));
+			evictFromCache(id);
+			processAfterDelete(id);
+			publishEvent(TouremEventType.DELETED, id);
+			return;
 		}
 
 		// delete resource
-		this.repository.deleteById(id);
+		timed(TouremOperation.DELETE, TouremStage.REPOSITORY, () -> this.repository.deleteById(id));
+		evictFromCache(id);
 
 		// check if the delete operation was successful
-		if (this.repository.existsById(id)) {
+		if (timed(TouremOperation.DELETE, TouremStage.REPOSITORY, () -> this.repository.existsById(id))) {
 			log.debug("The delete operation was not successful for resource with ID: [{}]", id);
 			throw new IllegalArgumentException(String.format("An error occurred during delete operation - Resource [%s] not deleted", id));
 		}
+
+		processAfterDelete(id);
+		publishEvent(TouremEventType.DELETED, id);
+	}
+
+	/**
+	 * Delete a resource by its ID if it has not been modified since the given version
+	 * @param id ID of the resource to be deleted
+	 * @param expectedVersion version of the resource known by the client, not checked when null
+	 */
+	@Override
+	@Transactional
+	public void delete(String id, Long expectedVersion) {
+		if (isNull(expectedVersion)) {
+			delete(id);
+			return;
+		}
+
+		E managed = timed(TouremOperation.DELETE, TouremStage.REPOSITORY, () -> findLive(id)).orElseThrow(() -> {
+			log.debug("Trying to remove a resource with an invalid ID: [{}]", id);
+			return new ResourceNotFoundException(String.format("The resource you are trying to remove does not exists [%s]", id));
+		});
+		checkVersion(expectedVersion, managed);
+
+		// the DELETE, or the UPDATE of a soft delete, is conditioned by the version as well
+		timed(TouremOperation.DELETE, TouremStage.REPOSITORY, () -> {
+			if (this.softDelete) {
+				managed.setDeletedAt(LocalDateTime.now());
+			} else {
+				this.repository.delete(managed);
+			}
+			this.repository.flush();
+		});
+		evictFromCache(id);
+		processAfterDelete(id);
+		publishEvent(TouremEventType.DELETED, id);
+	}
+
+	protected void deleteTrusted(String id) {
+		if (isCertainlyMissing(id)) {
+			throw new ResourceNotFoundException(String.format("The resource you are trying to remove does not exists [%s]", id));
+		}
+		var deleted = this.softDelete ? this.repository.softDeleteById(id, LocalDateTime.now()) : this.repository.removeById(id);
+		if (deleted == 0) {
+			log.debug("Trying to remove a resource with an invalid ID: [{}]", id);
+			throw new ResourceNotFoundException(String.format("The resource you are trying to remove does not exists [%s]", id));
+		}
+		evictFromCache(id);
+	}
+
+	protected void processAfterDelete(String id) {
+		log.debug("Processing resource after delete: [{}]", id);
+	}
+
+	/**
+	 * Create many resources.
+	 * Items are validated and processed by the same hooks as {@link #create(Object)}, then persisted
+	 * by chunks, each chunk in its own transaction so that its inserts are sent as JDBC batches.
+	 * @param data resources information
+	 * @return returns the outcome of each item, in the request order
+	 */
+	@Override
+	public List<TouremBulkResult<D>> createAll(List<D> data) {
+		return processInChunks(data, (offset, chunk) -> {
+			var results = new ArrayList<TouremBulkResult<D>>(Collections.nCopies(chunk.size(), null));
+			Map<Integer, E> accepted = new LinkedHashMap<>();
+
+			for (int i = 0; i < chunk.size(); i++) {
+				try {
+					E e = this.mapper.mapToEntity(chunk.get(i));
+					applyPrePersistValidation(e);
+					processBeforeCreate(e);
+					resolveAssociations(e);
+					accepted.put(i, e);
+				} catch (RuntimeException e) {
+					results.set(i, failed(offset + i, chunk.get(i).getId(), e));
+				}
+			}
+
+			this.repository.saveAll(accepted.values());
+			this.repository.flush();
+			invalidateCachedResponses();
+
+			accepted.forEach((i, e) -> {
+				processAfterCreate(e);
+				addToIdFilter(e.getId());
+				publishEvent(TouremEventType.CREATED, e.getId());
+				results.set(i, new TouremBulkResult<>(offset + i, e.getId(), HttpStatus.CREATED.value(), this.mapper.mapToDto(e), null));
+			});
+			return results;
+		});
+	}
+
+	/**
+	 * Update one part of many elements.
+	 * The rows of a chunk are loaded with one query before the items go through the same hooks as {@link #patch(Object)}.
+	 * @param data update data
+	 * @return returns the outcome of each item, in the request order
+	 */
+	@Override
+	public List<TouremBulkResult<D>> patchAll(List<D> data) {
+		return processInChunks(data, (offset, chunk) -> {
+			var results = new ArrayList<TouremBulkResult<D>>(Collections.nCopies(chunk.size(), null));
+			Map<Integer, E> accepted = new LinkedHashMap<>();
+
+			// prefetch the rows of the chunk into the persistence context
+			this.repository.findAllById(chunk.stream().map(TouremDto::getId).filter(Objects::nonNull).toList());
+
+			for (int i = 0; i < chunk.size(); i++) {
+				try {
+					E e = this.mapper.mapToEntity(chunk.get(i));
+					applyInitialCheckBeforePatch(e);
+					processBeforePatch(e);
+					accepted.put(i, applyPatch(e));
+				} catch (RuntimeException e) {
+					results.set(i, failed(offset + i, chunk.get(i).getId(), e));
+				}
+			}
+
+			this.repository.flush();
+
+			accepted.forEach((i, e) -> {
+				evictFromCache(e.getId());
+				processAfterPatch(e);
+				publishEvent(TouremEventType.PATCHED, e.getId());
+				results.set(i, new TouremBulkResult<>(offset + i, e.getId(), HttpStatus.OK.value(), this.mapper.mapToDto(initializeAssociations(e)), null));
+			});
+			return results;
+		});
+	}
+
+	/**
+	 * Delete many resources by their IDs.
+	 * Each chunk is checked with one query and deleted with one statement.
+	 * @param ids IDs of the resources to be deleted
+	 * @return returns the outcome of each item, in the request order
+	 */
+	@Override
+	public List<TouremBulkResult<D>> deleteAll(List<String> ids) {
+		return processInChunks(ids, (offset, chunk) -> {
+			var results = new ArrayList<TouremBulkResult<D>>(chunk.size());
+			var candidates = chunk.stream().filter(Objects::nonNull).filter(id -> !isCertainlyMissing(id)).toList();
+			var existing = new HashSet<>(candidates.isEmpty() ? List.of() : this.repository.findExistingIds(candidates));
+
+			if (!existing.isEmpty() && this.softDelete) {
+				this.repository.softDeleteAllByIdIn(existing, LocalDateTime.now());
+			} else if (!existing.isEmpty()) {
+				this.repository.removeAllByIdIn(existing);
+			}
+
+			for (int i = 0; i < chunk.size(); i++) {
+				var id = chunk.get(i);
+				if (existing.remove(id)) {
+					evictFromCache(id);
+					processAfterDelete(id);
+					publishEvent(TouremEventType.DELETED, id);
+					results.add(new TouremBulkResult<>(offset + i, id, HttpStatus.OK.value(), null, null));
+				} else {
+					log.debug("Trying to remove a resource with an invalid ID: [{}]", id);
+					results.add(failed(offset + i, id, new ResourceNotFoundException(String.format("The resource you are trying to remove does not exists [%s]", id))));
+				}
+			}
+			return results;
+		});
+	}
+
+	/**
+	 * Hard-deletes the soft-deleted rows, by batches each removed in its own transaction
+	 * @param deletedBefore only the rows soft-deleted before this time are removed
+	 * @param batchSize number of rows removed per transaction
+	 * @return the number of removed rows
+	 */
+	public int purgeDeleted(LocalDateTime deletedBefore, int batchSize) {
+		var purged = 0;
+		int removed;
+		do {
+			removed = Objects.requireNonNull(this.transactionTemplate.execute(status -> {
+				var ids = this.repository.findDeletedIds(deletedBefore, PageRequest.ofSize(batchSize));
+				return ids.isEmpty() ? 0 : this.repository.removeAllByIdIn(ids);
+			}));
+			purged += removed;
+		} while (removed == batchSize);
+		return purged;
+	}
+
+	/**
+	 * Runs a bulk operation chunk by chunk, each chunk in its own transaction.
+	 * When a chunk fails to commit, its items which had been accepted are reported as failed.
+	 * @param items items of the bulk operation
+	 * @param chunkProcessor processes one chunk given the index of its first item
+	 * @return returns the outcome of each item, in the request order
+	 */
+	private <T> List<TouremBulkResult<D>> processInChunks(List<T> items, BiFunction<Integer, List<T>, List<TouremBulkResult<D>>> chunkProcessor) {
+		if (items.size() > this.bulkMaxItems) {
+			throw new PayloadTooLargeException(String.format("A bulk operation holds at most [%d] items, [%d] were sent", this.bulkMaxItems, items.size()));
+		}
+		List<TouremBulkResult<D>> results = new ArrayList<>(items.size());
+
+		for (var chunk : Lists.partition(items, this.bulkChunkSize)) {
+			int offset = results.size();
+			try {
+				results.addAll(this.transactionTemplate.execute(status -> chunkProcessor.apply(offset, chunk)));
+			} catch (RuntimeException e) {
+				log.debug("Bulk chunk starting at item [{}] rolled back", offset, e);
+				for (int i = 0; i < chunk.size(); i++) {
+					results.add(failed(offset + i, null, e));
+				}
+			}
+		}
+		return results;
+	}
+
+	private TouremBulkResult<D> failed(int index, String id, Exception e) {
+		return new TouremBulkResult<>(index, id, TouremExceptionHandler.statusOf(e).value(), null, e.getMessage());
 	}
 
 	/**
-	 * Find many elements by criteria
+	 * Find many elements by criteria.
+	 * The withTotal criteria tells how the total number of elements is computed:
+	 * exact (default) runs a COUNT query, cached serves it from a short-lived count cache,
+	 * estimate reads it from the table statistics when there is no filter and false skips it.
+	 * An estimate which is missing or contradicted by the page itself, as for a table never analyzed, falls back to the count cache.
 	 * @param criteria Criteria of the resources to be found
-	 * @return returns one or many pages
+	 * @return returns one page, or one slice when the total is skipped
 	 */
 	@Override
 	@Transactional(readOnly = true)
-	public Page<D> findAll(Map<String, String> criteria) {
+	public Slice<D> findAll(Map<String, String> criteria) {
 		// build page request
 		var req = processBeforeFindAll(criteria);
 
 		// build query criteria
-		var querySpec = this.queryBuilder.buildQuerySpecification(criteria);
-
+		var querySpec = timed(TouremOperation.FIND_ALL, TouremStage.QUERY, () -> this.queryBuilder.buildQuerySpecification(criteria).and(fetchPlan(criteria)));
 
 		// run query and process results
-		return this.repository.findAll(querySpec, req).map(mapper::mapToDto);
+		return switch (TotalMode.fromValue(criteria.get("withTotal"))) {
+			case EXACT -> {
+				var page = timed(TouremOperation.FIND_ALL, TouremStage.REPOSITORY, () -> this.repository.findAll(querySpec, req));
+				yield toPage(page, page.getTotalElements(), TotalMode.EXACT);
+			}
+			case CACHED -> {
+				var slice = timed(TouremOperation.FIND_ALL, TouremStage.REPOSITORY, () -> this.repository.findSlice(querySpec, req));
+				yield toPage(slice, countCached(criteria, querySpec), TotalMode.CACHED);
+			}
+			case ESTIMATE -> {
+				var slice = timed(TouremOperation.FIND_ALL, TouremStage.REPOSITORY, () -> this.repository.findSlice(querySpec, req));
+				var estimate = isFiltered(criteria) ? OptionalLong.empty() : this.tableStatistics.estimateRowCount(this.entityType);
+				yield estimate.isPresent() && estimate.getAsLong() >= minimumTotal(slice)
+					? toPage(slice, estimate.getAsLong(), TotalMode.ESTIMATE)
+					: toPage(slice, countCached(criteria, querySpec), TotalMode.CACHED);
+			}
+			case NONE -> {
+				var slice = timed(TouremOperation.FIND_ALL, TouremStage.REPOSITORY, () -> this.repository.findSlice(querySpec, req));
+				yield timed(TouremOperation.FIND_ALL, TouremStage.MAPPING, () -> slice.map(mapper::mapToDto));
+			}
+		};
+	}
+
+	private TouremPage<D> toPage(Slice<E> slice, long total, TotalMode totalMode) {
+		var content = timed(TouremOperation.FIND_ALL, TouremStage.MAPPING, () -> slice.getContent().stream().map(mapper::mapToDto).toList());
+		return new TouremPage<>(content, slice.getPageable(), total, totalMode);
+	}
+
+	/**
+	 * Gets the number of elements a slice proves to exist: the ones before it, its own and one more when it has a next slice
+	 * @param slice slice of elements
+	 * @return the lower bound of the total
+	 */
+	private static long minimumTotal(Slice<?> slice) {
+		return slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+	}
+
+	private long countCached(Map<String, String> criteria, Specification<E> querySpec) {
+		var filters = new TreeMap<>(criteria);
+		filters.keySet().removeAll(CONTROL_CRITERIA);
+		return this.countCache.get(filters.toString(), key -> timed(TouremOperation.FIND_ALL, TouremStage.REPOSITORY, () -> this.repository.count(querySpec)));
+	}
+
+	private boolean isFiltered(Map<String, String> criteria) {
+		return criteria.keySet().stream().anyMatch(key -> !CONTROL_CRITERIA.contains(key) && !MATCH_OPTIONS.contains(key));
+	}
+
+	/**
+	 * Find many elements by criteria using keyset pagination
+	 * @param criteria Criteria of the resources to be found
+	 * @return returns one page and the cursor of the next one
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public TouremCursorPage<D> findAllByCursor(Map<String, String> criteria) {
+		// build cursor
+		var cursor = processBeforeFindAllByCursor(criteria);
+		var size = Strings.isNullOrEmpty(criteria.get("size")) ? 50 : Integer.parseInt(criteria.get("size"));
+
+		// build query criteria
+		var querySpec = timed(TouremOperation.FIND_ALL_BY_CURSOR, TouremStage.QUERY, () -> this.queryBuilder.buildQuerySpecification(criteria).and(fetchPlan(criteria)));
+
+		// fetch one extra row to know if there is a next page
+		var rows = timed(TouremOperation.FIND_ALL_BY_CURSOR, TouremStage.REPOSITORY, () -> this.repository.findAllAfter(querySpec, cursor, size + 1));
+		var content = rows.size() > size ? rows.subList(0, size) : rows;
+
+		String nextCursor = null;
+		if (rows.size() > size) {
+			var last = content.get(content.size() - 1);
+			var sortValue = new BeanWrapperImpl(last).getPropertyValue(cursor.sortBy());
+			nextCursor = cursor.next(nonNull(sortValue) ? String.valueOf(sortValue) : null, last.getId()).encode();
+		}
+		var dtos = timed(TouremOperation.FIND_ALL_BY_CURSOR, TouremStage.MAPPING, () -> content.stream().map(mapper::mapToDto).toList());
+		return new TouremCursorPage<>(dtos, nextCursor, size);
+	}
+
+	public TouremCursor processBeforeFindAllByCursor(Map<String, String> criteria) {
+		var cursor = criteria.get("cursor");
+		if (!Strings.isNullOrEmpty(cursor)) {
+			var decoded = TouremCursor.decode(cursor);
+			checkSortKey(decoded.sortBy());
+			if (nonNull(decoded.sortValue())) {
+				// rejects a tampered position before the query, where it would be translated to a data access failure
+				var property = BeanUtils.getPropertyDescriptor(this.entityType, decoded.sortBy());
+				if (isNull(property)) {
+					throw new InvalidRequestException(String.format("Invalid cursor [%s]", cursor));
+				}
+				decoded.sortValue(property.getPropertyType());
+			}
+			return decoded;
+		}
+
+		var sortBy = criteria.get("sortBy");
+		var sortDirection = criteria.get("sortDirection");
+		return TouremCursor.first(
+			Strings.isNullOrEmpty(sortBy) ? "createdAt" : checkSortKey(sortBy),
+			"ASC".equals(sortDirection) ? Sort.Direction.ASC : Sort.Direction.DESC);
+	}
+
+	/**
+	 * Export all the elements matching the criteria, one at a time, through a forward-only cursor.
+	 * Rows are mapped as they are fetched and released every fetch size rows, so that the memory used
+	 * does not depend on the number of exported elements.
+	 * @param criteria Criteria of the resources to be exported
+	 * @param consumer receives the exported elements, in order
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void export(Map<String, String> criteria, Consumer<D> consumer) {
+		// build query criteria
+		var querySpec = this.queryBuilder.buildQuerySpecification(criteria).and(fetchPlan(criteria));
+		var sortBy = criteria.get("sortBy");
+		var sort = Strings.isNullOrEmpty(sortBy)
+			? Sort.unsorted()
+			: Sort.by("ASC".equals(criteria.get("sortDirection")) ? Sort.Direction.ASC : Sort.Direction.DESC, checkSortKey(sortBy));
+
+		// stream, map and release the rows
+		try (var rows = this.repository.stream(querySpec, sort, this.exportFetchSize)) {
+			var iterator = rows.iterator();
+			var count = 0L;
+			while (iterator.hasNext()) {
+				consumer.accept(mapper.mapToDto(iterator.next()));
+				if (++count % this.exportFetchSize == 0) {
+					this.entityManager.clear();
+				}
+			}
+			log.debug("Exported [{}] rows of [{}]", count, this.entityType.getSimpleName());
+		}
+	}
+
+	/**
+	 * Builds the fetch plan requested by the expand criteria: a comma separated list of associations
+	 * to be join fetched, or none. Without expand criteria, the associations exposed by the DTO are fetched.
+	 * @param criteria request criteria
+	 * @return the specification fetching the associations
+	 */
+	protected Specification<E> fetchPlan(Map<String, String> criteria) {
+		var expand = criteria.get("expand");
+		if (isNull(expand)) {
+			return fetchPlan(this.defaultFetchPlan);
+		}
+		if (expand.isBlank() || NO_EXPANSION.equals(expand)) {
+			return fetchPlan(Set.of());
+		}
+
+		var requested = Arrays.stream(expand.split(",")).map(String::trim).collect(Collectors.toSet());
+		if (!this.associations.containsAll(requested)) {
+			throw new InvalidRequestException(String.format("Invalid expand [%s], expandable associations are %s", expand, this.associations));
+		}
+		return fetchPlan(requested);
+	}
+
+	/**
+	 * Builds a specification join fetching associations. Count queries are left untouched.
+	 * Associations which are not fetched are loaded by batches if they are accessed.
+	 * @param fetched names of the associations to be fetched
+	 * @return the specification fetching the associations
+	 */
+	protected Specification<E> fetchPlan(Set<String> fetched) {
+		return (root, query, criteriaBuilder) -> {
+			if (!Long.class.equals(query.getResultType()) && !long.class.equals(query.getResultType())) {
+				fetched.forEach(association -> root.fetch(association, JoinType.LEFT));
+			}
+			return null;
+		};
+	}
+
+	/**
+	 * Loads a row unless it has been soft-deleted, served by the persistence context when already loaded
+	 * @param id ID of the row
+	 * @return the live row
+	 */
+	protected Optional<E> findLive(String id) {
+		if (isCertainlyMissing(id)) {
+			return Optional.empty();
+		}
+		var live = this.repository.findById(id).filter(entity -> !entity.hasDeletedAt());
+		if (live.isEmpty()) {
+			recordFalsePositive();
+		}
+		return live;
+	}
+
+	/**
+	 * Tells if no live row has an ID, according to the ID filter
+	 * @param id ID looked up
+	 * @return true when the ID certainly does not exist, false when it may exist or the filter is disabled
+	 */
+	protected boolean isCertainlyMissing(String id) {
+		return nonNull(this.idFilter) && !this.idFilter.mightContain(id);
+	}
+
+	/**
+	 * Records a lookup let through by the ID filter that found no live row
+	 */
+	private void recordFalsePositive() {
+		if (nonNull(this.idFilter)) {
+			this.idFilter.recordFalsePositive();
+		}
+	}
+
+	/**
+	 * Adds the ID of a created row to the ID filter, now and once the transaction completes,
+	 * so that a rebuild reading the rows before the commit does not miss it
+	 * @param id ID of the created row
+	 */
+	protected void addToIdFilter(String id) {
+		if (nonNull(this.idFilter)) {
+			runNowAndAfterCompletion(() -> this.idFilter.put(id));
+		}
+	}
+
+	/**
+	 * Rebuilds the ID filter from the IDs of the live rows, the lookups being served by the previous filter meanwhile.
+	 * The IDs are read in a read-write transaction, so that they come from the primary rather than a lagging replica.
+	 */
+	@Transactional
+	public void rebuildIdFilter() {
+		if (isNull(this.idFilter)) {
+			return;
+		}
+		var rowCount = this.repository.countLive();
+		this.idFilter.rebuild(rowCount, consumer -> {
+			try (var ids = this.repository.streamLiveIds()) {
+				ids.forEach(consumer);
+			}
+		});
+		log.debug("ID filter of [{}] rebuilt with [{}] rows", getEntityName(), rowCount);
+	}
+
+	/**
+	 * Tells if the ID filter holds more IDs than it was sized for, its false positive rate then exceeding the configured one
+	 * @return true when the filter should be rebuilt with a larger capacity
+	 */
+	public boolean isIdFilterOverCapacity() {
+		return nonNull(this.idFilter) && this.idFilter.isOverCapacity();
+	}
+
+	/**
+	 * Gets the statistics of the ID filter
+	 * @return the statistics, empty when the filter is disabled
+	 */
+	public Optional<TouremIdFilterStats> getIdFilterStats() {
+		return Optional.ofNullable(this.idFilter).map(TouremIdFilter::getStats);
+	}
+
+	protected Specification<E> idEquals(String id) {
+		return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
 	}
 
 	public PageRequest processBeforeFindAll(Map<String, String> criteria) {
@@ -298,6 +1184,7 @@ public abstract class AbstractTouremService<E extends TouremEntity, D extends To
 		if (!Strings.isNullOrEmpty(size)) {
 			if (!Strings.isNullOrEmpty(page)) {
 				if (!Strings.isNullOrEmpty(sortBy) && !Strings.isNullOrEmpty(sortDirection)) {
+					checkSortKey(sortBy);
 					var sort = sortDirection.equals("ASC")
 						? Sort.by(sortBy).ascending()
 						: Sort.by(sortBy).descending();
@@ -310,16 +1197,129 @@ public abstract class AbstractTouremService<E extends TouremEntity, D extends To
 		return PageRequest.ofSize(50);
 	}
 
-	public void mergeSourceToTarget(E source, E target) {
-		final var wTarget = new BeanWrapperImpl(target);
+	/**
+	 * Checks the field the elements are sorted by: only the sort keys of the query builder are served by an index,
+	 * any other sort reads and sorts the whole table. Such a sort is logged once per field, it is not rejected.
+	 * @param sortBy name of the field
+	 * @return the name of the field
+	 */
+	protected String checkSortKey(String sortBy) {
+		if (!this.queryBuilder.getSortKeys().contains(sortBy) && this.unindexedSorts.add(sortBy)) {
+			log.info("Sort of [{}] by [{}] is not served by an index, the indexed sort keys are {}", getEntityName(), sortBy, this.queryBuilder.getSortKeys());
+		}
+		return sortBy;
+	}
 
-		List<String> ignoredProperties = new ArrayList<>();
+	/**
+	 * Publishes the domain event of a write, delivered once the current transaction has committed
+	 * @param type write operation
+	 * @param id ID of the written resource
+	 */
+	protected void publishEvent(TouremEventType type, String id) {
+		if (nonNull(this.eventPublisher)) {
+			this.eventPublisher.publish(new TouremDomainEvent(type, this.entityType, id, Instant.now()));
+		}
+	}
 
-		for (var pd : wTarget.getPropertyDescriptors()) {
-			if (Objects.nonNull(wTarget.getPropertyValue(pd.getName()))) {
-				ignoredProperties.add(pd.getName());
+	/**
+	 * Logs the whole state of an entity at TRACE, for the sampled calls only
+	 * @param step step of the operation
+	 * @param entity entity to be dumped
+	 */
+	protected void traceDump(String step, E entity) {
+		if (log.isTraceEnabled() && !isNull(this.objectDumper) && this.objectDumper.sample()) {
+			log.trace("{} {}", step, this.objectDumper.dump(entity));
+		}
+	}
+
+	/**
+	 * Times one stage of an operation, which is the origin reported with the slow statements it runs
+	 * @param operation operation the stage belongs to
+	 * @param stage timed stage
+	 * @param work work of the stage
+	 * @return the result of the work
+	 */
+	protected <T> T timed(TouremOperation operation, TouremStage stage, Supplier<T> work) {
+		var previousOrigin = StatementOrigin.bind(new StatementOrigin(getClass().getSimpleName(), this.queryBuilder.getClass().getSimpleName(), operation.getValue(), stage.getValue()));
+		try {
+			return isNull(this.metrics) ? work.get() : this.metrics.record(getEntityName(), operation, stage, work);
+		} finally {
+			StatementOrigin.restore(previousOrigin);
+		}
+	}
+
+	protected void timed(TouremOperation operation, TouremStage stage, Runnable work) {
+		timed(operation, stage, () -> {
+			work.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Gets the name of the entity, as the entity tag of the metrics
+	 * @return the simple name of the entity class
+	 */
+	public String getEntityName() {
+		return this.entityType.getSimpleName();
+	}
+
+	/**
+	 * Removes a resource from the cache, along with the cached resources embedding it, now and once the current
+	 * transaction completes, so that a concurrent read cannot put back the state preceding the commit
+	 * @param id ID of the resource to be evicted
+	 */
+	protected void evictFromCache(String id) {
+		var key = cacheKeyOf(id);
+		runNowAndAfterCompletion(() -> {
+			this.cache.evict(key);
+			if (nonNull(this.entityCaches)) {
+				this.entityCaches.invalidateEmbedding(this.dtoType);
 			}
+			invalidateResponses();
+		});
+	}
+
+	/**
+	 * Gets the key of a resource in the entity cache: its ID, in the canonical form of a UUID when the IDs are stored as UUIDs
+	 * @param id ID in any of the accepted forms
+	 * @return the key of the resource
+	 */
+	private String cacheKeyOf(String id) {
+		return this.uuidIds ? UuidStringJavaTypeDescriptor.normalize(id) : id;
+	}
+
+	/**
+	 * Invalidates the cached responses of the resource, now and once the current transaction completes
+	 */
+	protected void invalidateCachedResponses() {
+		runNowAndAfterCompletion(this::invalidateResponses);
+	}
+
+	private void invalidateResponses() {
+		if (nonNull(this.responseCache)) {
+			this.responseCache.invalidate(this.dtoType);
 		}
-		BeanUtils.copyProperties(source, target, ignoredProperties.toArray(new String[0]));
+	}
+
+	private static void runNowAndAfterCompletion(Runnable action) {
+		action.run();
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					action.run();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Copies the properties of the source into the null properties of the target
+	 * @param source entity whose properties are copied
+	 * @param target entity whose null properties are set
+	 */
+	public void mergeSourceToTarget(E source, E target) {
+		NullAwareMerger.of(this.entityType).merge(source, target);
 	}
 }
@@ -5,16 +5,54 @@ import com.tourem.dao.repositories.ArticleRepository;
 import com.tourem.dao.specifications.ArticleQueryBuilder;
 import com.tourem.dto.ArticleDto;
 import com.tourem.mappers.ArticleMapper;
+import com.tourem.search.ArticleSearchEngine;
 import com.tourem.validation.TouremValidation;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class ArticleService extends AbstractTouremService<ArticleEntity, ArticleDto> {
-	protected ArticleService(ArticleRepository repository, ArticleMapper mapper, ArticleQueryBuilder queryBuilder, TouremValidation<ArticleEntity> validator) {
+
+	private final ArticleSearchEngine searchEngine;
+
+	protected ArticleService(ArticleRepository repository, ArticleMapper mapper, ArticleQueryBuilder queryBuilder, TouremValidation<ArticleEntity> validator, ArticleSearchEngine searchEngine) {
 		super(repository, mapper, queryBuilder, validator);
+		this.searchEngine = searchEngine;
 	}
 
+	/**
+	 * Full-text search of the articles by title and payload
+	 * @param query text to be searched
+	 * @param size maximum number of results
+	 * @return returns the matching articles, best ranked first
+	 */
+	@Transactional(readOnly = true)
+	public List<ArticleDto> search(String query, int size) {
+		var ids = this.searchEngine.search(query, size);
+
+		// load the articles then restore the ranking order
+		Map<String, ArticleEntity> articles = this.repository
+			.findAll(idIn(ids).and(fetchPlan(Map.of())))
+			.stream()
+			.collect(Collectors.toMap(ArticleEntity::getId, Function.identity()));
 
+		return ids.stream()
+			.map(articles::get)
+			.filter(Objects::nonNull)
+			.map(mapper::mapToDto)
+			.toList();
+	}
+
+	private Specification<ArticleEntity> idIn(List<String> ids) {
+		return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+	}
 }
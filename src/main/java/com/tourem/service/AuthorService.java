@@ -4,6 +4,7 @@ import com.tourem.dao.entities.AuthorEntity;
 import com.tourem.dao.repositories.AuthorRepository;
 import com.tourem.dao.specifications.AuthorQueryBuilder;
 import com.tourem.dto.AuthorDto;
+import com.tourem.exceptions.InvalidRequestException;
 import com.tourem.mappers.AuthorMapper;
 import com.tourem.validation.TouremValidation;
 import lombok.extern.slf4j.Slf4j;
@@ -22,12 +23,12 @@ public class AuthorService extends AbstractTouremService<AuthorEntity, AuthorDto
 		super.processBeforeCreate(entity);
 		if (this.repository.exists(Example.of(AuthorEntity.builder().login(entity.getLogin()).build()))) {
 			log.debug("User login exists [{}]", entity);
-			throw new IllegalArgumentException(String.format("User login already exists [%s]", entity));
+			throw new InvalidRequestException(String.format("User login already exists [%s]", entity));
 		}
 
 		if (this.repository.exists(Example.of(AuthorEntity.builder().password(entity.getPassword()).build()))) {
 			log.debug("User password exists [{}]", entity);
-			throw new IllegalArgumentException(String.format("User password already exists [%s]", entity));
+			throw new InvalidRequestException(String.format("User password already exists [%s]", entity));
 		}
 	}
 }
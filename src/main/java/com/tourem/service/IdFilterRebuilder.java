@@ -0,0 +1,84 @@
+package com.tourem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Builds the ID filters of the services in the background once the application is ready, then rebuilds them
+ * periodically, so that they drop the removed IDs and learn the rows created by the other instances.
+ * The lookups are served by the previous filters during a rebuild.
+ */
+@Slf4j
+@Component
+public class IdFilterRebuilder {
+
+	private final List<AbstractTouremService<?, ?>> services;
+	private final boolean enabled;
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		var thread = new Thread(runnable, "tourem-id-filter");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public IdFilterRebuilder(List<AbstractTouremService<?, ?>> services, @Value("${tourem.id-filter.enabled:false}") boolean enabled) {
+		this.services = services;
+		this.enabled = enabled;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void buildOnStartup() {
+		rebuildAsync(null);
+	}
+
+	@Scheduled(initialDelayString = "${tourem.id-filter.rebuild-interval:PT1H}", fixedDelayString = "${tourem.id-filter.rebuild-interval:PT1H}")
+	public void rebuild() {
+		rebuildAsync(null);
+	}
+
+	/**
+	 * Rebuilds before the next interval the filters holding more IDs than they were sized for
+	 */
+	@Scheduled(initialDelayString = "${tourem.id-filter.capacity-check-interval:PT1M}", fixedDelayString = "${tourem.id-filter.capacity-check-interval:PT1M}")
+	public void rebuildOverCapacity() {
+		this.services.stream()
+			.filter(AbstractTouremService::isIdFilterOverCapacity)
+			.forEach(service -> this.executor.execute(() -> rebuild(service)));
+	}
+
+	/**
+	 * Rebuilds the filters on the background thread, the lookups being served by the current filters meanwhile
+	 * @param entity name of the entity whose filter is rebuilt, every filter when null
+	 */
+	public void rebuildAsync(String entity) {
+		if (!this.enabled) {
+			return;
+		}
+		this.services.stream()
+			.filter(service -> entity == null || service.getEntityName().equalsIgnoreCase(entity))
+			.forEach(service -> this.executor.execute(() -> rebuild(service)));
+	}
+
+	private void rebuild(AbstractTouremService<?, ?> service) {
+		try {
+			service.rebuildIdFilter();
+		} catch (DataAccessException e) {
+			// the previous filter, or none, keeps serving the lookups
+			log.warn("Unable to rebuild the ID filter of [{}]: [{}]", service.getEntityName(), e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+}
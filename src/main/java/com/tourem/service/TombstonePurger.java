@@ -0,0 +1,48 @@
+package com.tourem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hard-deletes in the background the rows soft-deleted for longer than the retention,
+ * so that the removal of the rows and of their index entries happens off the request path.
+ */
+@Slf4j
+@Component
+public class TombstonePurger {
+
+	private final List<AbstractTouremService<?, ?>> services;
+	private final Duration retention;
+	private final int batchSize;
+
+	public TombstonePurger(List<AbstractTouremService<?, ?>> services,
+						   @Value("${tourem.persistence.purge.retention:7d}") Duration retention,
+						   @Value("${tourem.persistence.purge.batch-size:500}") int batchSize) {
+		this.services = services;
+		this.retention = retention;
+		this.batchSize = batchSize;
+	}
+
+	@Scheduled(initialDelayString = "${tourem.persistence.purge.interval:PT10M}", fixedDelayString = "${tourem.persistence.purge.interval:PT10M}")
+	public void purge() {
+		var deletedBefore = LocalDateTime.now().minus(this.retention);
+		for (var service : this.services) {
+			try {
+				var purged = service.purgeDeleted(deletedBefore, this.batchSize);
+				if (purged > 0) {
+					log.info("Purged [{}] soft-deleted rows of [{}]", purged, service.getEntityName());
+				}
+			} catch (DataAccessException e) {
+				// a tombstone still referenced by a live row, such as the author of an article, fails its batch
+				log.warn("Unable to purge the soft-deleted rows of [{}]: [{}]", service.getEntityName(), e.getMessage());
+			}
+		}
+	}
+}
@@ -1,9 +1,13 @@
 package com.tourem.service;
 
+import com.tourem.dto.TouremBulkResult;
+import com.tourem.dto.TouremCursorPage;
 import com.tourem.dto.TouremDto;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interface for CRUD operations
@@ -34,14 +38,16 @@ public interface TouremService<D extends TouremDto> {
 	D create(D data);
 
 	/**
-	 * Update one part of an element
+	 * Update one part of an element.
+	 * When the data carries a version, the update is rejected if the resource has been modified since.
 	 * @param data update data
 	 * @return returns the newly updated resource
 	 */
 	D patch(D data);
 
 	/**
-	 * Replace the content of the element
+	 * Replace the content of the element.
+	 * When the data carries a version, the update is rejected if the resource has been modified since.
 	 * @param data update data
 	 * @return returns the newly updated resource
 	 */
@@ -53,10 +59,52 @@ public interface TouremService<D extends TouremDto> {
 	 */
 	void delete(String id);
 
+	/**
+	 * Delete a resource by its ID if it has not been modified since the given version
+	 * @param id ID of the resource to be deleted
+	 * @param expectedVersion version of the resource known by the client, not checked when null
+	 */
+	void delete(String id, Long expectedVersion);
+
+	/**
+	 * Create many resources
+	 * @param data resources information
+	 * @return returns the outcome of each item, in the request order
+	 */
+	List<TouremBulkResult<D>> createAll(List<D> data);
+
+	/**
+	 * Update one part of many elements
+	 * @param data update data
+	 * @return returns the outcome of each item, in the request order
+	 */
+	List<TouremBulkResult<D>> patchAll(List<D> data);
+
+	/**
+	 * Delete many resources by their IDs
+	 * @param ids IDs of the resources to be deleted
+	 * @return returns the outcome of each item, in the request order
+	 */
+	List<TouremBulkResult<D>> deleteAll(List<String> ids);
+
 	/**
 	 * Find many elements by criteria
 	 * @param criteria Criteria of the resources to be found
-	 * @return returns one or many pages
+	 * @return returns one page, or one slice when the total is skipped
+	 */
+	Slice<D> findAll(Map<String, String> criteria);
+
+	/**
+	 * Find many elements by criteria using keyset pagination
+	 * @param criteria Criteria of the resources to be found, including the cursor of the page
+	 * @return returns one page and the cursor of the next one
+	 */
+	TouremCursorPage<D> findAllByCursor(Map<String, String> criteria);
+
+	/**
+	 * Export all the elements matching the criteria, one at a time
+	 * @param criteria Criteria of the resources to be exported
+	 * @param consumer receives the exported elements, in order
 	 */
-	Page<D> findAll(Map<String, String> criteria);
+	void export(Map<String, String> criteria, Consumer<D> consumer);
 }
@@ -0,0 +1,41 @@
+-- Converts the varchar ID columns to 16-byte uuid columns, before switching tourem.persistence.id-storage to uuid.
+-- The cast accepts both the 32 hexadecimal digits of the former IDs and the canonical form of the current ones,
+-- and the application accepts both forms as well, so that the IDs known by the clients keep working.
+-- The tables are rewritten: apply it with the application stopped, then restart it with the uuid storage.
+-- To revert, run the same statements with "type varchar(36) using <column>::text" and switch back to the string storage.
+
+begin;
+
+-- the foreign keys are dropped whatever their names, and recreated once both sides are converted
+do $$
+declare
+  fk record;
+begin
+  for fk in select conrelid::regclass as table_name, conname from pg_constraint where contype = 'f' and connamespace = 'tourem'::regnamespace loop
+    execute format('alter table %s drop constraint %I', fk.table_name, fk.conname);
+  end loop;
+end $$;
+
+alter table tourem.author alter column id type uuid using id::uuid;
+alter table tourem.user_role alter column id type uuid using id::uuid;
+alter table tourem.user_operation alter column id type uuid using id::uuid;
+alter table tourem.user_operation alter column user_role_id type uuid using user_role_id::uuid;
+alter table tourem.article alter column id type uuid using id::uuid;
+alter table tourem.article alter column author_id type uuid using author_id::uuid;
+alter table tourem.image_url alter column id type uuid using id::uuid;
+alter table if exists tourem.author_user_role alter column author_id type uuid using author_id::uuid;
+alter table if exists tourem.author_user_role alter column user_role_id type uuid using user_role_id::uuid;
+
+alter table tourem.user_operation add constraint fk_user_operation_user_role foreign key (user_role_id) references tourem.user_role;
+alter table tourem.article add constraint fk_article_author foreign key (author_id) references tourem.author;
+alter table if exists tourem.author_user_role add constraint fk_author_user_role_author foreign key (author_id) references tourem.author;
+alter table if exists tourem.author_user_role add constraint fk_author_user_role_user_role foreign key (user_role_id) references tourem.user_role;
+
+commit;
+
+-- the indexes were rebuilt by the type change, refresh the statistics used by the planner and the estimated counts
+analyze tourem.author;
+analyze tourem.user_role;
+analyze tourem.user_operation;
+analyze tourem.article;
+analyze tourem.image_url;
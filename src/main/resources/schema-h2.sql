@@ -1,6 +1,6 @@
 create schema if not exists tourem;
 
-set schema 'tourem';
+set schema tourem;
 
 create table if not exists author
 (
@@ -12,10 +12,10 @@ create table if not exists author
   created_at timestamp,
   updated_at timestamp,
   deleted_at timestamp,
+  version    bigint default 0 not null,
   constraint pk_author
     primary key (id)
 );
-create index if not exists idx_author on author (id, first_name, last_name);
 
 create table if not exists user_role
 (
@@ -24,10 +24,10 @@ create table if not exists user_role
   created_at timestamp,
   updated_at timestamp,
   deleted_at timestamp,
+  version    bigint default 0 not null,
   constraint pk_user_role
     primary key (id)
 );
-create index if not exists idx_user_role on user_role (id, name);
 
 create table if not exists author_user_role
 (
@@ -45,25 +45,24 @@ create table if not exists user_operation
   created_at     timestamp,
   updated_at     timestamp,
   deleted_at     timestamp,
+  version        bigint default 0 not null,
   constraint pk_user_operation
     primary key (id)
 );
-create index if not exists idx_user_operation on user_operation (id, operation_name, user_role_id);
-
 
 create table if not exists article
 (
   id         varchar(36)  not null,
   title      varchar(250) not null,
   payload    text         not null,
-  author_id  varchar(35),
+  author_id  varchar(36),
   created_at timestamp,
   updated_at timestamp,
   deleted_at timestamp,
+  version    bigint default 0 not null,
   constraint pk_article
     primary key (id)
 );
-create index if not exists idx_article on article (id, title, payload, author_id);
 
 create table if not exists image_url
 (
@@ -72,10 +71,10 @@ create table if not exists image_url
   created_at timestamp,
   updated_at timestamp,
   deleted_at timestamp,
+  version    bigint default 0 not null,
   constraint pk_image_url
     primary key (id)
 );
-create index if not exists idx_image_url on image_url (id, url);
 
 alter table author_user_role
   add foreign key (author_id)
@@ -95,4 +94,25 @@ alter table article
 alter table author
   add constraint unique_author_login unique (login);
 alter table author
-  add constraint unique_author_passwd unique (password);
\ No newline at end of file
+  add constraint unique_author_passwd unique (password);
+-- exact and case-sensitive prefix matches of the name filters, H2 has neither trigram nor expression indexes
+create index if not exists idx_author_first_name on author (first_name);
+create index if not exists idx_author_last_name on author (last_name);
+create index if not exists idx_user_role_name on user_role (name);
+create index if not exists idx_user_operation_name on user_operation (operation_name);
+
+-- indexes derived from the query builders by TouremIndexAdvisor (GET /admin/indexes), checked by TouremIndexAdvisorTests
+-- sort keys with the ID as tie-breaker: sorted pages, keyset pagination and date ranges
+create index if not exists idx_author_created_at on author (created_at, id);
+create index if not exists idx_author_updated_at on author (updated_at, id);
+create index if not exists idx_user_role_created_at on user_role (created_at, id);
+create index if not exists idx_user_role_updated_at on user_role (updated_at, id);
+create index if not exists idx_user_operation_created_at on user_operation (created_at, id);
+create index if not exists idx_user_operation_updated_at on user_operation (updated_at, id);
+create index if not exists idx_article_created_at on article (created_at, id);
+create index if not exists idx_article_updated_at on article (updated_at, id);
+create index if not exists idx_image_url_created_at on image_url (created_at, id);
+create index if not exists idx_image_url_updated_at on image_url (updated_at, id);
+-- joins on the associations, in the default order
+create index if not exists idx_user_operation_user_role_id_created_at on user_operation (user_role_id, created_at, id);
+create index if not exists idx_article_author_id_created_at on article (author_id, created_at, id);
@@ -0,0 +1,55 @@
+-- PostgreSQL specific objects, to be applied after the tables are created
+
+-- full-text search of the articles, the expression and the predicate must match PostgresArticleSearchEngine
+drop index if exists tourem.idx_article_search;
+create index if not exists idx_article_search_live on tourem.article using gin (to_tsvector('simple', title || ' ' || payload)) where deleted_at is null;
+
+-- contains and prefix matches of the text filters (TouremMatchMode), the case-insensitive filters compare lower(field)
+-- they only cover the live rows: the soft-deleted ones are never read by the queries
+create extension if not exists pg_trgm;
+create index if not exists idx_author_first_name_trgm on tourem.author using gin (lower(first_name) gin_trgm_ops) where deleted_at is null;
+create index if not exists idx_author_last_name_trgm on tourem.author using gin (lower(last_name) gin_trgm_ops) where deleted_at is null;
+create index if not exists idx_user_role_name_trgm on tourem.user_role using gin (lower(name) gin_trgm_ops) where deleted_at is null;
+create index if not exists idx_user_operation_name_trgm on tourem.user_operation using gin (lower(operation_name) gin_trgm_ops) where deleted_at is null;
+create index if not exists idx_image_url_url_trgm on tourem.image_url using gin (url gin_trgm_ops) where deleted_at is null;
+create index if not exists idx_article_title_trgm on tourem.article using gin (title gin_trgm_ops) where deleted_at is null;
+-- no trigram index on the article payload, larger than the table and slowing down every write:
+-- the words of the payload are served by the full-text search, a contains filter reads the rows selected by the other ones
+drop index if exists tourem.idx_article_payload_trgm;
+
+-- optimistic locking, the existing rows start at version 0
+alter table tourem.author add column if not exists version bigint not null default 0;
+alter table tourem.user_role add column if not exists version bigint not null default 0;
+alter table tourem.user_operation add column if not exists version bigint not null default 0;
+alter table tourem.article add column if not exists version bigint not null default 0;
+alter table tourem.image_url add column if not exists version bigint not null default 0;
+
+-- soft delete: the queries only read the live rows (deleted_at is null), the purger only reads the tombstones
+create index if not exists idx_author_tombstones on tourem.author (deleted_at) where deleted_at is not null;
+create index if not exists idx_user_role_tombstones on tourem.user_role (deleted_at) where deleted_at is not null;
+create index if not exists idx_user_operation_tombstones on tourem.user_operation (deleted_at) where deleted_at is not null;
+create index if not exists idx_article_tombstones on tourem.article (deleted_at) where deleted_at is not null;
+create index if not exists idx_image_url_tombstones on tourem.image_url (deleted_at) where deleted_at is not null;
+
+-- indexes derived from the query builders by TouremIndexAdvisor, GET /admin/indexes/ddl lists the missing ones
+-- sort keys with the ID as tie-breaker: sorted pages, keyset pagination, date ranges and their counts
+create index if not exists idx_author_created_at_live on tourem.author (created_at, id) where deleted_at is null;
+create index if not exists idx_author_updated_at_live on tourem.author (updated_at, id) where deleted_at is null;
+create index if not exists idx_user_role_created_at_live on tourem.user_role (created_at, id) where deleted_at is null;
+create index if not exists idx_user_role_updated_at_live on tourem.user_role (updated_at, id) where deleted_at is null;
+create index if not exists idx_user_operation_created_at_live on tourem.user_operation (created_at, id) where deleted_at is null;
+create index if not exists idx_user_operation_updated_at_live on tourem.user_operation (updated_at, id) where deleted_at is null;
+create index if not exists idx_article_created_at_live on tourem.article (created_at, id) where deleted_at is null;
+create index if not exists idx_article_updated_at_live on tourem.article (updated_at, id) where deleted_at is null;
+create index if not exists idx_image_url_created_at_live on tourem.image_url (created_at, id) where deleted_at is null;
+create index if not exists idx_image_url_updated_at_live on tourem.image_url (updated_at, id) where deleted_at is null;
+-- joins on the associations, in the default order; the composite index replaces the single column one
+drop index if exists tourem.idx_article_author_live;
+create index if not exists idx_article_author_id_created_at_live on tourem.article (author_id, created_at, id) where deleted_at is null;
+create index if not exists idx_user_operation_user_role_id_created_at_live on tourem.user_operation (user_role_id, created_at, id) where deleted_at is null;
+-- the indexes leading with the ID duplicated the primary keys and served none of the filters
+drop index if exists tourem.idx_author;
+drop index if exists tourem.idx_user_role;
+drop index if exists tourem.idx_user_operation;
+drop index if exists tourem.idx_article;
+drop index if exists tourem.idx_image_url;
@@ -0,0 +1,55 @@
+package com.tourem.benchmarks;
+
+import com.tourem.exceptions.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of a not-found outcome thrown with and without a stack trace, from the depth of a
+ * controller call through the servlet filters, the proxies and the service.
+ * Run the main method on the test classpath, after mvn test-compile has generated the JMH harness.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpectedExceptionBenchmark {
+
+	@Param({"120"})
+	private int depth;
+
+	@Param({"stack-trace", "stackless"})
+	private String exception;
+
+	/**
+	 * Throws a not-found outcome at the given depth and catches it at the top, as the exception handler does
+	 */
+	@Benchmark
+	public String notFound() {
+		try {
+			return call(this.depth);
+		} catch (ResourceNotFoundException e) {
+			return e.getMessage();
+		}
+	}
+
+	private String call(int remaining) {
+		if (remaining > 0) {
+			return call(remaining - 1);
+		}
+		var message = "Resource with ID [42] not found";
+		throw "stackless".equals(this.exception)
+			? new ResourceNotFoundException(message)
+			: new ResourceNotFoundException(message, null);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ExpectedExceptionBenchmark.class.getSimpleName()).build()).run();
+	}
+}
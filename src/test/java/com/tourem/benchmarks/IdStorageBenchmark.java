@@ -0,0 +1,127 @@
+package com.tourem.benchmarks;
+
+import com.tourem.dao.ids.TouremIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the insert and join throughput of the ID storages on an in-memory H2 database:
+ * random 32-digit string IDs in varchar(36) columns, as generated before, against time-ordered UUIDs
+ * in uuid columns.
+ * Run the main method on the test classpath, after mvn test-compile has generated the JMH harness.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdStorageBenchmark {
+
+	private static final int AUTHORS = 10_000;
+	private static final int ARTICLES_PER_AUTHOR = 5;
+	private static final int INSERT_BATCH = 50;
+
+	@Param({"string", "uuid"})
+	private String storage;
+
+	private Connection connection;
+	private PreparedStatement insertAuthor;
+	private PreparedStatement insertArticle;
+	private PreparedStatement join;
+	private final List<Object> authorIds = new ArrayList<>();
+
+	@Setup
+	public void setUp() throws SQLException {
+		this.connection = DriverManager.getConnection("jdbc:h2:mem:ids-" + this.storage, "sa", "");
+		var idType = "uuid".equals(this.storage) ? "uuid" : "varchar(36)";
+		try (var statement = this.connection.createStatement()) {
+			statement.execute("create table author (id " + idType + " primary key, last_name varchar(50))");
+			statement.execute("create table article (id " + idType + " primary key, title varchar(250), author_id " + idType + " references author)");
+			statement.execute("create index idx_article_author on article (author_id)");
+		}
+		this.insertAuthor = this.connection.prepareStatement("insert into author (id, last_name) values (?, ?)");
+		this.insertArticle = this.connection.prepareStatement("insert into article (id, title, author_id) values (?, ?, ?)");
+		this.join = this.connection.prepareStatement("select a.title, u.last_name from article a join author u on u.id = a.author_id where u.id = ?");
+
+		for (int i = 0; i < AUTHORS; i++) {
+			var authorId = nextId();
+			this.authorIds.add(authorId);
+			this.insertAuthor.setObject(1, authorId);
+			this.insertAuthor.setString(2, "Author " + i);
+			this.insertAuthor.addBatch();
+			for (int j = 0; j < ARTICLES_PER_AUTHOR; j++) {
+				this.insertArticle.setObject(1, nextId());
+				this.insertArticle.setString(2, "Article " + j);
+				this.insertArticle.setObject(3, authorId);
+				this.insertArticle.addBatch();
+			}
+		}
+		this.insertAuthor.executeBatch();
+		this.insertArticle.executeBatch();
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		try (var statement = this.connection.createStatement()) {
+			statement.execute("drop all objects");
+		}
+		this.connection.close();
+	}
+
+	/**
+	 * Inserts a batch of articles of existing authors
+	 */
+	@Benchmark
+	@OperationsPerInvocation(INSERT_BATCH)
+	public int[] insert() throws SQLException {
+		for (int i = 0; i < INSERT_BATCH; i++) {
+			this.insertArticle.setObject(1, nextId());
+			this.insertArticle.setString(2, "Inserted");
+			this.insertArticle.setObject(3, randomAuthorId());
+			this.insertArticle.addBatch();
+		}
+		return this.insertArticle.executeBatch();
+	}
+
+	/**
+	 * Reads the articles of a random author joined with the author
+	 */
+	@Benchmark
+	public int join() throws SQLException {
+		this.join.setObject(1, randomAuthorId());
+		var rows = 0;
+		try (var resultSet = this.join.executeQuery()) {
+			while (resultSet.next()) {
+				rows++;
+			}
+		}
+		return rows;
+	}
+
+	private Object nextId() {
+		return "uuid".equals(this.storage)
+			? TouremIdGenerator.nextId()
+			: UUID.randomUUID().toString().replace("-", "");
+	}
+
+	private Object randomAuthorId() {
+		return this.authorIds.get(ThreadLocalRandom.current().nextInt(this.authorIds.size()));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(IdStorageBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,100 @@
+package com.tourem.benchmarks;
+
+import com.tourem.dao.entities.ArticleEntity;
+import com.tourem.dao.entities.AuthorEntity;
+import com.tourem.mappers.NullAwareMerger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the PATCH merge based on bean introspection with the {@link NullAwareMerger}.
+ * Run the main method on the test classpath, after mvn test-compile has generated the JMH harness.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MergeBenchmark {
+
+	private AuthorEntity author;
+	private ArticleEntity article;
+
+	@Setup
+	public void setUp() {
+		this.author = AuthorEntity.builder()
+			.id("ff808081a13ff5f001a13ff606fc000a")
+			.firstName("Mohamed")
+			.lastName("Touré")
+			.login("mtoure")
+			.password("secret")
+			.createdAt(LocalDateTime.now())
+			.build();
+		this.article = ArticleEntity.builder()
+			.id("ff808081a13ff5f001a13ff606fc000b")
+			.title("Title")
+			.payload("Payload")
+			.author(this.author)
+			.createdAt(LocalDateTime.now())
+			.build();
+	}
+
+	@Benchmark
+	public AuthorEntity introspectionAuthor() {
+		var target = AuthorEntity.builder().id(this.author.getId()).firstName("Changed").build();
+		introspectionMerge(this.author, target);
+		return target;
+	}
+
+	@Benchmark
+	public AuthorEntity methodHandleAuthor() {
+		var target = AuthorEntity.builder().id(this.author.getId()).firstName("Changed").build();
+		NullAwareMerger.of(AuthorEntity.class).merge(this.author, target);
+		return target;
+	}
+
+	@Benchmark
+	public ArticleEntity introspectionArticle() {
+		var target = ArticleEntity.builder().id(this.article.getId()).title("Changed").build();
+		introspectionMerge(this.article, target);
+		return target;
+	}
+
+	@Benchmark
+	public ArticleEntity methodHandleArticle() {
+		var target = ArticleEntity.builder().id(this.article.getId()).title("Changed").build();
+		NullAwareMerger.of(ArticleEntity.class).merge(this.article, target);
+		return target;
+	}
+
+	/**
+	 * The merge previously performed by AbstractTouremService.mergeSourceToTarget
+	 */
+	private static void introspectionMerge(Object source, Object target) {
+		final var wTarget = new BeanWrapperImpl(target);
+
+		List<String> ignoredProperties = new ArrayList<>();
+
+		for (var pd : wTarget.getPropertyDescriptors()) {
+			if (Objects.nonNull(wTarget.getPropertyValue(pd.getName()))) {
+				ignoredProperties.add(pd.getName());
+			}
+		}
+		BeanUtils.copyProperties(source, target, ignoredProperties.toArray(new String[0]));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(MergeBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,72 @@
+package com.tourem.benchmarks;
+
+import com.tourem.TouremApplication;
+import com.tourem.exceptions.ResourceNotFoundException;
+import com.tourem.service.AuthorService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookups of missing IDs through AuthorService.find, its transaction and its entity cache,
+ * on an in-memory H2 database: the path of the crawlers requesting the IDs of deleted resources.
+ * The warmup is longer than the one of the other benchmarks, the whole Spring and Hibernate stack being compiled.
+ * Run the main method on the test classpath, after mvn test-compile has generated the JMH harness.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MissingResourceBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private AuthorService authorService;
+
+	@Setup
+	public void setUp() {
+		this.context = new SpringApplicationBuilder(TouremApplication.class)
+			.web(WebApplicationType.NONE)
+			// arguments rather than default properties, which application.yml would override
+			.run(
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.url=jdbc:h2:mem:tourem-missing-resource",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.sql.init.mode=always",
+				"--spring.sql.init.schema-locations=classpath:schema-h2.sql",
+				"--spring.jpa.hibernate.ddl-auto=none",
+				"--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+				"--tourem.cache.enabled=true",
+				"--logging.level.root=WARN");
+		this.authorService = this.context.getBean(AuthorService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	/**
+	 * Looks up an ID without row, the not-found outcome being caught as the exception handler does
+	 */
+	@Benchmark
+	public String findMissing() {
+		try {
+			return this.authorService.find("author-missing").getId();
+		} catch (ResourceNotFoundException e) {
+			return e.getMessage();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(MissingResourceBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,152 @@
+package com.tourem.benchmarks;
+
+import com.tourem.dao.entities.ArticleEntity;
+import com.tourem.dao.entities.AuthorEntity;
+import com.tourem.dao.specifications.ArticleQueryBuilder;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.text.MessageFormat;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of ArticleQueryBuilder.buildQuerySpecification, alone and followed by the creation
+ * of the Hibernate query, against the specification chain it replaced.
+ * The values of the criteria change on every call, as they do from one request to another.
+ * Run the main method on the test classpath, after mvn test-compile has generated the JMH harness.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBuilderBenchmark {
+
+	@Param({"auto", "bind"})
+	private String literalHandlingMode;
+
+	private StandardServiceRegistry registry;
+	private SessionFactory sessionFactory;
+	private Session session;
+	private ArticleQueryBuilder queryBuilder;
+	private long counter;
+
+	@Setup
+	public void setUp() {
+		this.registry = new StandardServiceRegistryBuilder()
+			.applySetting("hibernate.connection.driver_class", "org.h2.Driver")
+			.applySetting("hibernate.connection.url", "jdbc:h2:mem:benchmark")
+			.applySetting("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+			.applySetting("hibernate.criteria.literal_handling_mode", this.literalHandlingMode)
+			.build();
+		this.sessionFactory = new MetadataSources(this.registry)
+			.addAnnotatedClass(ArticleEntity.class)
+			.addAnnotatedClass(AuthorEntity.class)
+			.buildMetadata()
+			.buildSessionFactory();
+		this.session = this.sessionFactory.openSession();
+		this.queryBuilder = new ArticleQueryBuilder();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.session.close();
+		this.sessionFactory.close();
+		StandardServiceRegistryBuilder.destroy(this.registry);
+	}
+
+	@Benchmark
+	public Object legacyBuild() {
+		return legacySpecification(nextCriteria());
+	}
+
+	@Benchmark
+	public Object plannedBuild() {
+		return this.queryBuilder.buildQuerySpecification(nextCriteria());
+	}
+
+	@Benchmark
+	public Object legacyQuery() {
+		return createQuery(legacySpecification(nextCriteria()));
+	}
+
+	@Benchmark
+	public Object plannedQuery() {
+		return createQuery(this.queryBuilder.buildQuerySpecification(nextCriteria()));
+	}
+
+	private Map<String, String> nextCriteria() {
+		var n = this.counter++;
+		return Map.of(
+			"title", "Title " + n,
+			"createdFrom", LocalDateTime.of(2022, 1, 1, 0, 0).plusSeconds(n).toString(),
+			"createdTo", "2030-01-01T00:00:00",
+			"page", "0",
+			"size", "20"
+		);
+	}
+
+	private Object createQuery(Specification<ArticleEntity> specification) {
+		var criteriaBuilder = this.session.getCriteriaBuilder();
+		var query = criteriaBuilder.createQuery(ArticleEntity.class);
+		var root = query.from(ArticleEntity.class);
+		var predicate = specification.toPredicate(root, query, criteriaBuilder);
+		if (Objects.nonNull(predicate)) {
+			query.where(predicate);
+		}
+		return this.session.createQuery(query);
+	}
+
+	/**
+	 * The specification previously built by ArticleQueryBuilder. Its LIKE pattern is fixed to {0}:
+	 * the former %{}% pattern was rejected by MessageFormat.
+	 */
+	private static Specification<ArticleEntity> legacySpecification(Map<String, String> params) {
+		var createdFrom = params.containsKey("createdFrom") ? LocalDateTime.parse(params.get("createdFrom")) : null;
+		var createdTo = params.containsKey("createdTo") ? LocalDateTime.parse(params.get("createdTo")) : null;
+		var updatedFrom = params.containsKey("updatedFrom") ? LocalDateTime.parse(params.get("updatedFrom")) : null;
+		var updatedTo = params.containsKey("updatedTo") ? LocalDateTime.parse(params.get("updatedTo")) : null;
+
+		return Specification
+			.where(legacyContains("title", params.get("title")))
+			.and(legacyContains("payload", params.get("payload")))
+			.and(legacyBetween("createdAt", createdFrom, createdTo))
+			.and(legacyBetween("updatedAt", updatedFrom, updatedTo));
+	}
+
+	private static Specification<ArticleEntity> legacyContains(String fieldName, String expression) {
+		if (Objects.isNull(expression) || expression.isEmpty()) {
+			return null;
+		}
+		return (root, query, criteriaBuilder) -> criteriaBuilder.like(root.get(fieldName), MessageFormat.format("%{0}%", expression));
+	}
+
+	private static Specification<ArticleEntity> legacyBetween(String fieldName, LocalDateTime from, LocalDateTime to) {
+		if (Objects.nonNull(from) && Objects.nonNull(to)) {
+			return (root, query, criteriaBuilder) -> criteriaBuilder.between(root.get(fieldName), from, to);
+		}
+		if (Objects.nonNull(from)) {
+			return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get(fieldName), from);
+		}
+		if (Objects.nonNull(to)) {
+			return (root, query, criteriaBuilder) -> criteriaBuilder.lessThanOrEqualTo(root.get(fieldName), to);
+		}
+		return null;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(QueryBuilderBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,52 @@
+package com.tourem.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the answers of {@link TouremIdFilter} before, during and after its builds.
+ */
+class TouremIdFilterTests {
+
+	private static final String UUID = "0190f3c4-5b1e-7a2b-8c3d-4e5f6a7b8c9d";
+
+	private final TouremIdFilter filter = new TouremIdFilter("AuthorEntity", 0.01, 100);
+
+	@Test
+	void everyIdMayExistBeforeTheFirstBuild() {
+		this.filter.put("author-1");
+
+		assertThat(this.filter.isReady()).isFalse();
+		assertThat(this.filter.mightContain("author-1")).isTrue();
+		assertThat(this.filter.mightContain("author-missing")).isTrue();
+		assertThat(this.filter.getStats().lookups()).isZero();
+	}
+
+	@Test
+	void builtFilterTellsTheMissingIds() {
+		this.filter.rebuild(2, ids -> List.of("author-1", UUID).forEach(ids));
+
+		assertThat(this.filter.isReady()).isTrue();
+		assertThat(this.filter.mightContain("author-1")).isTrue();
+		assertThat(this.filter.mightContain(UUID.toUpperCase(Locale.ROOT))).isTrue();
+		assertThat(this.filter.mightContain(UUID.replace("-", ""))).isTrue();
+		assertThat(this.filter.mightContain("author-missing")).isFalse();
+	}
+
+	@Test
+	void idsCreatedDuringABuildAreKept() {
+		this.filter.rebuild(1, ids -> ids.accept("author-1"));
+
+		this.filter.rebuild(1, ids -> {
+			ids.accept("author-1");
+			this.filter.put("author-2");
+			assertThat(this.filter.mightContain("author-2")).isTrue();
+		});
+
+		assertThat(this.filter.mightContain("author-2")).isTrue();
+	}
+}
@@ -0,0 +1,87 @@
+package com.tourem.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks on H2 that the response cache serves the read endpoints as the controllers do, CORS headers included,
+ * and that the writes of a resource invalidate its responses and the responses embedding it.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-response-cache",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.sql.init.mode=always",
+	"spring.sql.init.schema-locations=classpath:schema-h2.sql",
+	"spring.sql.init.data-locations=classpath:data-services.sql",
+	"spring.jpa.hibernate.ddl-auto=none",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"tourem.response-cache.enabled=true"
+})
+@AutoConfigureMockMvc
+class TouremResponseCacheTests {
+
+	private static final String ORIGIN = "https://www.example.org";
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private TouremCacheManager cacheManager;
+
+	@Test
+	void cachedResponsesCarryTheCorsHeaders() throws Exception {
+		var hits = responseHits("ArticleDto");
+
+		for (int i = 0; i < 2; i++) {
+			this.mvc.perform(get("/articles/details/article-1").header(HttpHeaders.ORIGIN, ORIGIN))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*"))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ORIGIN)))
+				.andExpect(jsonPath("$.data.id").value("article-1"));
+		}
+
+		assertThat(responseHits("ArticleDto") - hits).isEqualTo(1);
+	}
+
+	@Test
+	void preflightRequestsOfCachedPathsAreAllowed() throws Exception {
+		this.mvc.perform(options("/articles").header(HttpHeaders.ORIGIN, ORIGIN).header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PATCH"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*"));
+	}
+
+	@Test
+	void writesInvalidateTheResponsesOfTheResourceAndOfTheResourcesEmbeddingIt() throws Exception {
+		this.mvc.perform(get("/authors/details/author-2")).andExpect(jsonPath("$.data.firstName").value("First 2"));
+		this.mvc.perform(get("/articles/details/article-2")).andExpect(jsonPath("$.data.author.firstName").value("First 2"));
+
+		this.mvc.perform(patch("/authors").contentType(MediaType.APPLICATION_JSON).content("{\"id\":\"author-2\",\"firstName\":\"Renamed\"}"))
+			.andExpect(status().isOk());
+
+		this.mvc.perform(get("/authors/details/author-2")).andExpect(jsonPath("$.data.firstName").value("Renamed"));
+		this.mvc.perform(get("/articles/details/article-2")).andExpect(jsonPath("$.data.author.firstName").value("Renamed"));
+	}
+
+	private long responseHits(String dtoName) {
+		return this.cacheManager.getStats().stream()
+			.filter(stats -> stats.name().equals(dtoName + ".responses"))
+			.mapToLong(TouremCacheStats::hits)
+			.sum();
+	}
+}
@@ -0,0 +1,77 @@
+package com.tourem.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks on H2 the bulk endpoints: a 207 reporting the outcome of each item, whatever its chunk,
+ * and a 413 for the requests holding more items than allowed.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-bulk",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.sql.init.mode=always",
+	"spring.sql.init.schema-locations=classpath:schema-h2.sql",
+	"spring.sql.init.data-locations=classpath:data-services.sql",
+	"spring.jpa.hibernate.ddl-auto=none",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"tourem.bulk.chunk-size=2",
+	"tourem.bulk.max-items=3"
+})
+@AutoConfigureMockMvc
+class TouremBulkTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Test
+	void patchesReportTheOutcomeOfEachItem() throws Exception {
+		this.mvc.perform(patch("/articles/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"id\":\"article-1\",\"title\":\"Bulk 1\"},{\"id\":\"article-missing\",\"title\":\"Bulk\"},{\"id\":\"article-2\",\"title\":\"Bulk 2\"}]"))
+			.andExpect(status().isMultiStatus())
+			.andExpect(jsonPath("$.data[*].index").value(contains(0, 1, 2)))
+			.andExpect(jsonPath("$.data[*].status").value(contains(200, 406, 200)))
+			.andExpect(jsonPath("$.data[2].data.title").value("Bulk 2"))
+			.andExpect(jsonPath("$.data[2].data.author.firstName").value("First 2"));
+
+		this.mvc.perform(get("/articles/details/article-1")).andExpect(jsonPath("$.data.title").value("Bulk 1"));
+	}
+
+	@Test
+	void createsAndDeletesReportTheOutcomeOfEachItem() throws Exception {
+		this.mvc.perform(post("/authors/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"firstName\":\"Bulk\",\"lastName\":\"Bulk\",\"login\":\"bulk-login\",\"password\":\"bulk-password\"},{\"firstName\":\"Bulk\"}]"))
+			.andExpect(status().isMultiStatus())
+			.andExpect(jsonPath("$.data[0].status").value(201))
+			.andExpect(jsonPath("$.data[0].data.login").value("bulk-login"))
+			.andExpect(jsonPath("$.data[1].status").value(406));
+
+		this.mvc.perform(delete("/articles/bulk").contentType(MediaType.APPLICATION_JSON).content("[\"article-3\",\"article-missing\"]"))
+			.andExpect(status().isMultiStatus())
+			.andExpect(jsonPath("$.data[*].status").value(contains(200, 404)));
+
+		this.mvc.perform(get("/articles/details/article-3")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void tooManyItemsArePayloadTooLarge() throws Exception {
+		this.mvc.perform(delete("/articles/bulk").contentType(MediaType.APPLICATION_JSON).content("[\"article-4\",\"article-5\",\"article-6\",\"article-7\"]"))
+			.andExpect(status().isPayloadTooLarge());
+
+		this.mvc.perform(get("/articles/details/article-4")).andExpect(status().isOk());
+	}
+}
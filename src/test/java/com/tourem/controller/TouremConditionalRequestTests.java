@@ -0,0 +1,82 @@
+package com.tourem.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks on H2 the validators of the resources: the ETag built from the versions of a resource and of the
+ * resources it embeds answers the conditional reads with a 304, and the If-Match header rejects stale writes with a 412.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-conditional-requests",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.sql.init.mode=always",
+	"spring.sql.init.schema-locations=classpath:schema-h2.sql",
+	"spring.sql.init.data-locations=classpath:data-services.sql",
+	"spring.jpa.hibernate.ddl-auto=none",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureMockMvc
+class TouremConditionalRequestTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Test
+	void unchangedResourceIsNotModified() throws Exception {
+		var eTag = eTagOf("/articles/details/article-3");
+		assertThat(eTag).isEqualTo("\"0-0\"");
+
+		this.mvc.perform(get("/articles/details/article-3").header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void updateOfAnEmbeddedResourceChangesTheETag() throws Exception {
+		var eTag = eTagOf("/articles/details/article-4");
+
+		this.mvc.perform(patch("/authors").contentType(MediaType.APPLICATION_JSON).content("{\"id\":\"author-4\",\"firstName\":\"Renamed\"}"))
+			.andExpect(status().isOk());
+
+		this.mvc.perform(get("/articles/details/article-4").header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.author.firstName").value("Renamed"));
+		assertThat(eTagOf("/articles/details/article-4")).isEqualTo("\"0-1\"");
+	}
+
+	@Test
+	void staleWritesArePreconditionFailed() throws Exception {
+		var eTag = eTagOf("/articles/details/article-5");
+
+		this.mvc.perform(patch("/articles").contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, eTag)
+				.content("{\"id\":\"article-5\",\"title\":\"First change\"}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.version").value(1));
+
+		this.mvc.perform(patch("/articles").contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, eTag)
+				.content("{\"id\":\"article-5\",\"title\":\"Lost update\"}"))
+			.andExpect(status().isPreconditionFailed());
+		this.mvc.perform(delete("/articles/article-5").header(HttpHeaders.IF_MATCH, eTag))
+			.andExpect(status().isPreconditionFailed());
+
+		this.mvc.perform(get("/articles/details/article-5")).andExpect(jsonPath("$.data.title").value("First change"));
+	}
+
+	private String eTagOf(String path) throws Exception {
+		return this.mvc.perform(get(path)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+}
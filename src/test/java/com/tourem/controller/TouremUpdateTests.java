@@ -0,0 +1,56 @@
+package com.tourem.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks on H2 the responses of the patches and puts, which embed their associations as the reads do.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-updates",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.sql.init.mode=always",
+	"spring.sql.init.schema-locations=classpath:schema-h2.sql",
+	"spring.sql.init.data-locations=classpath:data-services.sql",
+	"spring.jpa.hibernate.ddl-auto=none",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureMockMvc
+class TouremUpdateTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Test
+	void patchChangingTheAuthorReturnsTheWholeAuthor() throws Exception {
+		this.mvc.perform(patch("/articles").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id\":\"article-6\",\"author\":{\"id\":\"author-7\"}}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.title").value("Title 6"))
+			.andExpect(jsonPath("$.data.author.id").value("author-7"))
+			.andExpect(jsonPath("$.data.author.firstName").value("First 7"))
+			.andExpect(jsonPath("$.data.author.lastName").value("Last 7"))
+			.andExpect(jsonPath("$.data.author.version").value(0));
+	}
+
+	@Test
+	void putChangingTheAuthorReturnsTheWholeAuthor() throws Exception {
+		this.mvc.perform(put("/articles").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"id\":\"article-8\",\"title\":\"Replaced\",\"payload\":\"Replaced payload\",\"author\":{\"id\":\"author-9\"}}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.title").value("Replaced"))
+			.andExpect(jsonPath("$.data.author.id").value("author-9"))
+			.andExpect(jsonPath("$.data.author.login").value("login-9"));
+	}
+}
@@ -0,0 +1,123 @@
+package com.tourem.dao.indexes;
+
+import com.tourem.service.ArticleService;
+import com.tourem.service.AuthorService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on H2, created by schema-h2.sql, that the indexes proposed by the advisor exist,
+ * and that the queries rendered for the common filters read them according to EXPLAIN.
+ * The H2 planner neither reads an index to sort nor turns a bound LIKE into a range: the plans of the sorts
+ * without range and of the joins filtered by name are only index-served on PostgreSQL, they are not checked here.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-indexes",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.sql.init.mode=always",
+	"spring.sql.init.schema-locations=classpath:schema-h2.sql",
+	"spring.sql.init.data-locations=classpath:data-indexes.sql",
+	"spring.jpa.hibernate.ddl-auto=none",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.tourem.dao.indexes.TouremIndexAdvisorTests$RecordingStatementInspector",
+	"tourem.cache.enabled=false",
+	"tourem.response-cache.enabled=false"
+})
+class TouremIndexAdvisorTests {
+
+	private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+	@Autowired
+	private TouremIndexAdvisor indexAdvisor;
+
+	@Autowired
+	private ArticleService articleService;
+
+	@Autowired
+	private AuthorService authorService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Records the SQL rendered by Hibernate
+	 */
+	public static class RecordingStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+
+	@BeforeEach
+	void clearStatements() {
+		STATEMENTS.clear();
+	}
+
+	@Test
+	void everyProposedIndexExists() {
+		var proposals = this.indexAdvisor.advise();
+
+		assertThat(proposals).isNotEmpty();
+		assertThat(proposals)
+			.filteredOn(proposal -> !proposal.present())
+			.as("indexes missing from schema-h2.sql")
+			.extracting(TouremIndexProposal::ddl)
+			.isEmpty();
+	}
+
+	@Test
+	void dateRangeListingsAreServedBySortKeyIndexes() {
+		this.articleService.findAll(Map.of("createdFrom", "2021-01-01T00:00:00", "createdTo", "2021-12-31T23:59:59",
+			"page", "0", "size", "20", "sortBy", "createdAt", "sortDirection", "DESC", "withTotal", "exact"));
+		assertThat(explainSelects()).isNotEmpty().allSatisfy(plan -> assertThat(indexOf(plan, "ARTICLE")).isEqualTo("IDX_ARTICLE_CREATED_AT"));
+
+		STATEMENTS.clear();
+		this.articleService.findAll(Map.of("updatedFrom", "2021-01-01T00:00:00", "size", "20", "withTotal", "none"));
+		assertThat(explainSelects()).isNotEmpty().allSatisfy(plan -> assertThat(indexOf(plan, "ARTICLE")).isEqualTo("IDX_ARTICLE_UPDATED_AT"));
+	}
+
+	@Test
+	void equalitiesAreServedByIndexes() {
+		this.authorService.findAll(Map.of("login", "login-1", "size", "20", "withTotal", "none"));
+		assertThat(explainSelects()).isNotEmpty().allSatisfy(plan -> assertThat(indexOf(plan, "AUTHOR")).doesNotEndWith("TABLESCAN"));
+	}
+
+	private List<String> explainSelects() {
+		return STATEMENTS.stream()
+			.filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("select"))
+			.map(sql -> this.jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+				// H2 plans a statement without its parameters being bound
+				try (var statement = connection.prepareStatement("explain " + sql); var rs = statement.executeQuery()) {
+					rs.next();
+					return rs.getString(1);
+				}
+			}))
+			.toList();
+	}
+
+	/**
+	 * Gets the index H2 reads a table with, or tableScan
+	 */
+	private static String indexOf(String plan, String table) {
+		var matcher = Pattern.compile("\"TOUREM\"\\.\"" + table + "\" \"[^\"]+\"\\s*/\\* TOUREM\\.([\\w.]+)").matcher(plan);
+		assertThat(matcher.find()).as("access to %s in %s", table, plan).isTrue();
+		return matcher.group(1).toUpperCase(Locale.ROOT);
+	}
+}
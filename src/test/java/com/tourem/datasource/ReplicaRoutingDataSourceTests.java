@@ -0,0 +1,106 @@
+package com.tourem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the routing decision of {@link ReplicaRoutingDataSource}: the read-only transactions go to the replica,
+ * except for the clients whose writes committed within the read-your-writes window.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private static final String PRIMARY = "primary";
+	private static final String REPLICA = "replica-0";
+
+	private HikariDataSource primary;
+	private HikariDataSource replica;
+	private ReplicaRoutingDataSource routing;
+	private TransactionTemplate transaction;
+
+	@BeforeEach
+	void createDataSources() {
+		this.primary = pool("jdbc:h2:mem:tourem-routing-primary");
+		this.replica = pool("jdbc:h2:mem:tourem-routing-replica");
+		this.routing = new ReplicaRoutingDataSource(this.primary, List.of(this.replica), ReplicaBalancing.ROUND_ROBIN,
+			new ReadYourWritesTracker(Duration.ofMinutes(1), 100));
+		this.transaction = new TransactionTemplate(new DataSourceTransactionManager(new LazyConnectionDataSourceProxy(this.routing)));
+	}
+
+	@AfterEach
+	void closeDataSources() {
+		ReadYourWritesTracker.unbindClient();
+		this.primary.close();
+		this.replica.close();
+	}
+
+	@Test
+	void committedWritesPinTheClientToThePrimary() {
+		ReadYourWritesTracker.bindClient("client-1");
+		assertThat(readRoute()).isEqualTo(REPLICA);
+
+		assertThat(writeRoute(false)).isEqualTo(PRIMARY);
+
+		assertThat(readRoute()).isEqualTo(PRIMARY);
+		ReadYourWritesTracker.bindClient("client-2");
+		assertThat(readRoute()).isEqualTo(REPLICA);
+	}
+
+	@Test
+	void rolledBackWritesDoNotPinTheClient() {
+		ReadYourWritesTracker.bindClient("client-1");
+
+		assertThat(writeRoute(true)).isEqualTo(PRIMARY);
+
+		assertThat(readRoute()).isEqualTo(REPLICA);
+	}
+
+	@Test
+	void clientsWithoutIdAreIdentifiedByTheirAddress() throws Exception {
+		var filter = new ReadYourWritesFilter();
+		var request = new MockHttpServletRequest("PATCH", "/authors");
+		request.setRemoteAddr("192.0.2.1");
+		filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> writeRoute(false));
+
+		var routes = new String[2];
+		filter.doFilter(new MockHttpServletRequest("GET", "/authors"), new MockHttpServletResponse(), (req, res) -> routes[0] = readRoute());
+		request = new MockHttpServletRequest("GET", "/authors");
+		request.setRemoteAddr("192.0.2.1");
+		filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> routes[1] = readRoute());
+
+		assertThat(routes).containsExactly(REPLICA, PRIMARY);
+	}
+
+	private String readRoute() {
+		this.transaction.setReadOnly(true);
+		return this.transaction.execute(status -> (String) this.routing.determineCurrentLookupKey());
+	}
+
+	private String writeRoute(boolean rollback) {
+		this.transaction.setReadOnly(false);
+		return this.transaction.execute(status -> {
+			if (rollback) {
+				status.setRollbackOnly();
+			}
+			return (String) this.routing.determineCurrentLookupKey();
+		});
+	}
+
+	private static HikariDataSource pool(String url) {
+		var dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(url);
+		dataSource.setUsername("sa");
+		return dataSource;
+	}
+}
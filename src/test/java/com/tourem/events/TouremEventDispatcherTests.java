@@ -0,0 +1,145 @@
+package com.tourem.events;
+
+import com.tourem.dao.entities.ArticleEntity;
+import com.tourem.dao.entities.TouremEntity;
+import com.tourem.dto.ArticleDto;
+import com.tourem.service.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on H2 the delivery of the domain events: after the commit of their transaction, never after a rollback,
+ * and never on the publishing thread when the queues are full.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-events",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.sql.init.mode=always",
+	"spring.sql.init.schema-locations=classpath:schema-h2.sql",
+	"spring.sql.init.data-locations=classpath:data-services.sql",
+	"spring.jpa.hibernate.ddl-auto=none",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+class TouremEventDispatcherTests {
+
+	private static final long DELIVERY_TIMEOUT_S = 5;
+
+	@Autowired
+	private ArticleService articleService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private RecordingSubscriber subscriber;
+
+	@Test
+	void eventsAreDeliveredAfterTheCommit() throws InterruptedException {
+		new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+			this.articleService.patch(ArticleDto.builder().id("article-7").title("Committed").build());
+			assertThat(this.subscriber.events).isEmpty();
+		});
+
+		var event = this.subscriber.events.poll(DELIVERY_TIMEOUT_S, TimeUnit.SECONDS);
+		assertThat(event).isNotNull();
+		assertThat(event.type()).isEqualTo(TouremEventType.PATCHED);
+		assertThat(event.entityId()).isEqualTo("article-7");
+	}
+
+	@Test
+	void rolledBackWritesPublishNothing() throws InterruptedException {
+		new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+			this.articleService.patch(ArticleDto.builder().id("article-9").title("Rolled back").build());
+			status.setRollbackOnly();
+		});
+		this.articleService.patch(ArticleDto.builder().id("article-10").title("Committed").build());
+
+		// the events of one resource are delivered in order, those of the rolled back write would come first
+		var event = this.subscriber.events.poll(DELIVERY_TIMEOUT_S, TimeUnit.SECONDS);
+		assertThat(event).isNotNull();
+		assertThat(event.entityId()).isEqualTo("article-10");
+	}
+
+	@Test
+	void overflowingEventsAreDroppedRatherThanDeliveredByThePublisher() throws InterruptedException {
+		var release = new CountDownLatch(1);
+		var threads = new LinkedBlockingQueue<Thread>();
+		TouremEventSubscriber blocked = new TouremEventSubscriber() {
+			@Override
+			public boolean supports(Class<? extends TouremEntity> entityType) {
+				return true;
+			}
+
+			@Override
+			public void onEvents(List<TouremDomainEvent> events) {
+				threads.add(Thread.currentThread());
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		var dispatcher = new TouremEventDispatcher(List.of(blocked), 1, 1, 1, Duration.ofMillis(10), 1, Duration.ZERO, Duration.ofSeconds(1));
+		try {
+			dispatcher.dispatch(List.of(event("article-1")));
+			assertThat(threads.poll(DELIVERY_TIMEOUT_S, TimeUnit.SECONDS)).isNotNull();
+
+			// the worker holds the first event, the queue takes the second one and the others overflow
+			dispatcher.dispatch(List.of(event("article-2"), event("article-3"), event("article-4")));
+
+			assertThat(dispatcher.getOverflowed()).isEqualTo(2);
+			assertThat(dispatcher.getQueued()).isEqualTo(1);
+		} finally {
+			release.countDown();
+			dispatcher.shutdown();
+		}
+		assertThat(threads).doesNotContain(Thread.currentThread());
+		assertThat(dispatcher.getDelivered()).isEqualTo(2);
+	}
+
+	private static TouremDomainEvent event(String id) {
+		return new TouremDomainEvent(TouremEventType.PATCHED, ArticleEntity.class, id, Instant.now());
+	}
+
+	@TestConfiguration
+	static class Subscribers {
+
+		@Bean
+		RecordingSubscriber recordingSubscriber() {
+			return new RecordingSubscriber();
+		}
+	}
+
+	static class RecordingSubscriber implements TouremEventSubscriber {
+
+		private final BlockingQueue<TouremDomainEvent> events = new LinkedBlockingQueue<>();
+
+		@Override
+		public boolean supports(Class<? extends TouremEntity> entityType) {
+			return ArticleEntity.class.equals(entityType);
+		}
+
+		@Override
+		public void onEvents(List<TouremDomainEvent> events) {
+			this.events.addAll(events);
+		}
+	}
+}
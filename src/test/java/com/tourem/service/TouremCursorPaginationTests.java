@@ -0,0 +1,77 @@
+package com.tourem.service;
+
+import com.tourem.dto.AuthorDto;
+import com.tourem.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks on H2 that the keyset pagination returns every row once when the sort key is null for some of them,
+ * those rows coming last in both directions, ordered by their ID.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-cursor",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.sql.init.mode=always",
+	"spring.sql.init.schema-locations=classpath:schema-h2.sql",
+	"spring.sql.init.data-locations=classpath:data-cursor.sql",
+	"spring.jpa.hibernate.ddl-auto=none",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"tourem.cache.enabled=false",
+	"tourem.response-cache.enabled=false"
+})
+class TouremCursorPaginationTests {
+
+	@Autowired
+	private AuthorService authorService;
+
+	@Test
+	void rowsWithoutSortValueComeLastInDescendingOrder() {
+		assertThat(readAllPages("updatedAt", "DESC", 2))
+			.containsExactly("author-7", "author-5", "author-3", "author-1", "author-6", "author-4", "author-2");
+	}
+
+	@Test
+	void rowsWithoutSortValueComeLastInAscendingOrder() {
+		assertThat(readAllPages("updatedAt", "ASC", 3))
+			.containsExactly("author-1", "author-3", "author-5", "author-7", "author-2", "author-4", "author-6");
+	}
+
+	@Test
+	void rowsWithSortValueArePagedAsBefore() {
+		assertThat(readAllPages("createdAt", "DESC", 3))
+			.containsExactly("author-7", "author-6", "author-5", "author-4", "author-3", "author-2", "author-1");
+	}
+
+	@Test
+	void tamperedPositionIsRejected() {
+		var cursor = "dXBkYXRlZEF0.DESC.bnVsbA.YXV0aG9yLTE";
+		assertThatThrownBy(() -> this.authorService.findAllByCursor(Map.of("cursor", cursor)))
+			.isInstanceOf(InvalidRequestException.class);
+	}
+
+	private List<String> readAllPages(String sortBy, String sortDirection, int size) {
+		var ids = new ArrayList<String>();
+		var criteria = new HashMap<>(Map.of("sortBy", sortBy, "sortDirection", sortDirection, "size", String.valueOf(size)));
+		String cursor;
+		do {
+			var page = this.authorService.findAllByCursor(criteria);
+			page.content().stream().map(AuthorDto::getId).forEach(ids::add);
+			cursor = page.nextCursor();
+			criteria.put("cursor", cursor);
+		} while (nonNull(cursor) && ids.size() <= 7);
+		return ids;
+	}
+}
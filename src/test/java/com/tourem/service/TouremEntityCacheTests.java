@@ -0,0 +1,71 @@
+package com.tourem.service;
+
+import com.tourem.cache.TouremCacheManager;
+import com.tourem.cache.TouremCacheStats;
+import com.tourem.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks on H2 the read-through entity cache of {@link AbstractTouremService#find(String)}.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-entity-cache",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.sql.init.mode=always",
+	"spring.sql.init.schema-locations=classpath:schema-h2.sql",
+	"spring.sql.init.data-locations=classpath:data-services.sql",
+	"spring.jpa.hibernate.ddl-auto=none",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"tourem.cache.enabled=true",
+	"tourem.response-cache.enabled=false"
+})
+class TouremEntityCacheTests {
+
+	@Autowired
+	private AuthorService authorService;
+
+	@Autowired
+	private TouremCacheManager cacheManager;
+
+	@Test
+	void missingResourceIsNotFoundWithoutStackTraceNorCacheEntry() {
+		var before = authorCacheStats();
+
+		assertThatThrownBy(() -> this.authorService.find("author-missing"))
+			.isExactlyInstanceOf(ResourceNotFoundException.class)
+			.satisfies(e -> assertThat(e.getStackTrace()).isEmpty())
+			.satisfies(e -> assertThat(e.getCause()).isNull());
+		assertThatThrownBy(() -> this.authorService.find("author-missing")).isExactlyInstanceOf(ResourceNotFoundException.class);
+
+		// both lookups went to the database, the missing row being left out of the cache
+		var after = authorCacheStats();
+		assertThat(after.misses() - before.misses()).isEqualTo(2);
+		assertThat(after.size()).isEqualTo(before.size());
+	}
+
+	@Test
+	void foundResourceIsServedFromTheCacheAsCopies() {
+		var first = this.authorService.find("author-1");
+		first.setFirstName("Changed by the caller");
+		var before = authorCacheStats();
+
+		var second = this.authorService.find("author-1");
+
+		assertThat(authorCacheStats().hits() - before.hits()).isEqualTo(1);
+		assertThat(second.getFirstName()).isEqualTo("First 1");
+	}
+
+	private TouremCacheStats authorCacheStats() {
+		return this.cacheManager.getStats().stream()
+			.filter(stats -> stats.name().equals(this.authorService.getEntityName()))
+			.findFirst()
+			.orElseThrow();
+	}
+}
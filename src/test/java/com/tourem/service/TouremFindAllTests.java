@@ -0,0 +1,118 @@
+package com.tourem.service;
+
+import com.tourem.dao.entities.AuthorEntity;
+import com.tourem.dao.repositories.TableStatisticsRepository;
+import com.tourem.dao.specifications.AuthorQueryBuilder;
+import com.tourem.dto.AuthorDto;
+import com.tourem.dto.TotalMode;
+import com.tourem.dto.TouremPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks on H2 the listings of {@link AbstractTouremService#findAll(Map)} and {@link AbstractTouremService#findAllByCursor(Map)},
+ * their totals and the plans of their criteria.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-find-all",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.sql.init.mode=always",
+	"spring.sql.init.schema-locations=classpath:schema-h2.sql",
+	"spring.sql.init.data-locations=classpath:data-services.sql",
+	"spring.jpa.hibernate.ddl-auto=none",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"tourem.cache.enabled=false",
+	"tourem.response-cache.enabled=false"
+})
+class TouremFindAllTests {
+
+	@Autowired
+	private AuthorService authorService;
+
+	@Autowired
+	private AuthorQueryBuilder authorQueryBuilder;
+
+	@MockBean
+	private TableStatisticsRepository tableStatistics;
+
+	@Test
+	void requestsOfOneShapeShareItsPlanAndBindTheirOwnValues() {
+		var hits = this.authorQueryBuilder.getPlanHits();
+		var misses = this.authorQueryBuilder.getPlanMisses();
+
+		assertThat(logins(Map.of("login", "login-3", "withTotal", "none"))).containsExactly("login-3");
+		assertThat(logins(Map.of("login", "login-5", "withTotal", "none"))).containsExactly("login-5");
+		assertThat(logins(Map.of("login", "login-5", "lastName", "Last 3", "withTotal", "none"))).isEmpty();
+
+		assertThat(this.authorQueryBuilder.getPlanMisses() - misses).isEqualTo(2);
+		assertThat(this.authorQueryBuilder.getPlanHits() - hits).isEqualTo(1);
+	}
+
+	@Test
+	void totalsRequestedWithTrueAreExact() {
+		var page = this.authorService.findAll(Map.of("page", "0", "size", "3", "withTotal", "true"));
+
+		assertThat(TouremPage.totalModeOf(page)).isEqualTo(TotalMode.EXACT);
+		assertThat(((TouremPage<AuthorDto>) page).getTotalElements()).isEqualTo(10);
+	}
+
+	@Test
+	void estimatesBelowTheReadRowsAreCounted() {
+		when(this.tableStatistics.estimateRowCount(AuthorEntity.class)).thenReturn(OptionalLong.of(0));
+
+		var page = this.authorService.findAll(Map.of("page", "0", "size", "3", "withTotal", "estimate"));
+
+		assertThat(TouremPage.totalModeOf(page)).isEqualTo(TotalMode.CACHED);
+		assertThat(((TouremPage<AuthorDto>) page).getTotalElements()).isEqualTo(10);
+	}
+
+	@Test
+	void plausibleEstimatesAreServed() {
+		when(this.tableStatistics.estimateRowCount(AuthorEntity.class)).thenReturn(OptionalLong.of(12));
+
+		var page = this.authorService.findAll(Map.of("page", "0", "size", "3", "withTotal", "estimate"));
+
+		assertThat(TouremPage.totalModeOf(page)).isEqualTo(TotalMode.ESTIMATE);
+		assertThat(((TouremPage<AuthorDto>) page).getTotalElements()).isEqualTo(12);
+	}
+
+	@Test
+	void pagesAreSortedByFieldsWithoutIndex() {
+		var page = this.authorService.findAll(Map.of("page", "0", "size", "3", "sortBy", "lastName", "sortDirection", "DESC", "withTotal", "none"));
+
+		assertThat(page.getContent()).extracting(AuthorDto::getLastName).containsExactly("Last 9", "Last 8", "Last 7");
+	}
+
+	@Test
+	void cursorsAreSortedByFieldsWithoutIndex() {
+		var ids = new ArrayList<String>();
+		var criteria = new HashMap<>(Map.of("sortBy", "firstName", "sortDirection", "ASC", "size", "4"));
+		String cursor;
+		do {
+			var page = this.authorService.findAllByCursor(criteria);
+			page.content().stream().map(AuthorDto::getId).forEach(ids::add);
+			cursor = page.nextCursor();
+			criteria.put("cursor", cursor);
+		} while (nonNull(cursor) && ids.size() <= 10);
+
+		assertThat(ids).isEqualTo(List.of("author-1", "author-10", "author-2", "author-3", "author-4", "author-5", "author-6", "author-7", "author-8", "author-9"));
+	}
+
+	private List<String> logins(Map<String, String> criteria) {
+		return this.authorService.findAll(criteria).map(AuthorDto::getLogin).getContent();
+	}
+}
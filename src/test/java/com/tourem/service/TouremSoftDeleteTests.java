@@ -0,0 +1,78 @@
+package com.tourem.service;
+
+import com.tourem.dao.repositories.ArticleRepository;
+import com.tourem.dto.ArticleDto;
+import com.tourem.exceptions.InvalidRequestException;
+import com.tourem.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks on H2 the soft-delete mode: the deleted rows are kept with their version bumped, left out of the reads
+ * until the purge removes them.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-soft-delete",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.sql.init.mode=always",
+	"spring.sql.init.schema-locations=classpath:schema-h2.sql",
+	"spring.sql.init.data-locations=classpath:data-services.sql",
+	"spring.jpa.hibernate.ddl-auto=none",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"tourem.persistence.soft-delete=true"
+})
+class TouremSoftDeleteTests {
+
+	private static final String VERSION_QUERY = "select version from tourem.article where id = ? and deleted_at is not null";
+
+	@Autowired
+	private ArticleService articleService;
+
+	@Autowired
+	private ArticleRepository articleRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void deletedRowsAreKeptWithABumpedVersionAndLeftOutOfTheReads() {
+		this.articleService.find("article-1");
+
+		this.articleService.delete("article-1");
+
+		assertThat(this.jdbcTemplate.queryForList(VERSION_QUERY, Long.class, "article-1")).containsExactly(1L);
+		assertThatThrownBy(() -> this.articleService.find("article-1")).isInstanceOf(ResourceNotFoundException.class);
+		assertThatThrownBy(() -> this.articleService.delete("article-1")).isInstanceOf(InvalidRequestException.class);
+		assertThat(this.articleRepository.findExistingIds(List.of("article-1", "article-2"))).containsExactly("article-2");
+		assertThat(this.articleService.findAll(Map.of("size", "20", "withTotal", "exact")).getContent())
+			.extracting(ArticleDto::getId)
+			.contains("article-2")
+			.doesNotContain("article-1");
+	}
+
+	@Test
+	void purgeRemovesTheRowsDeletedBeforeTheGivenTime() {
+		this.articleService.deleteAll(List.of("article-3", "article-4"));
+		var deleted = countArticles("deleted_at is not null");
+
+		assertThat(this.articleService.purgeDeleted(LocalDateTime.now().minusHours(1), 10)).isZero();
+		assertThat(this.articleService.purgeDeleted(LocalDateTime.now().plusSeconds(1), 1)).isEqualTo(deleted).isGreaterThanOrEqualTo(2);
+		assertThat(countArticles("deleted_at is not null or id in ('article-3', 'article-4')")).isZero();
+		assertThat(countArticles("id = 'article-5'")).isOne();
+	}
+
+	private long countArticles(String condition) {
+		return this.jdbcTemplate.queryForObject("select count(*) from tourem.article where " + condition, Long.class);
+	}
+}
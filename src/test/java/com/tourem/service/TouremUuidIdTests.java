@@ -0,0 +1,46 @@
+package com.tourem.service;
+
+import com.tourem.dto.AuthorDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on H2 the IDs stored as UUIDs: every accepted form of an ID reads the same resource,
+ * and the writes evict the entity cache whatever the form it was read with.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.url=jdbc:h2:mem:tourem-uuid-ids;INIT=CREATE SCHEMA IF NOT EXISTS tourem",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"tourem.persistence.id-storage=uuid",
+	"tourem.cache.enabled=true",
+	"tourem.response-cache.enabled=false"
+})
+class TouremUuidIdTests {
+
+	@Autowired
+	private AuthorService authorService;
+
+	@Test
+	void writesEvictTheResourceReadWithAnyFormOfItsId() {
+		var id = this.authorService.create(AuthorDto.builder().firstName("First").lastName("Last").login("uuid-login").password("uuid-password").build()).getId();
+		var upperCase = id.toUpperCase(Locale.ROOT);
+		var hex = id.replace("-", "");
+
+		assertThat(this.authorService.find(upperCase).getFirstName()).isEqualTo("First");
+		assertThat(this.authorService.find(hex).getFirstName()).isEqualTo("First");
+
+		this.authorService.patch(AuthorDto.builder().id(id).firstName("Renamed").build());
+
+		assertThat(this.authorService.find(upperCase).getFirstName()).isEqualTo("Renamed");
+		assertThat(this.authorService.find(hex).getFirstName()).isEqualTo("Renamed");
+	}
+}
@@ -0,0 +1,5 @@
+-- rows of TouremCursorPaginationTests: the authors 2, 4 and 6 were never updated
+insert into tourem.author (id, first_name, last_name, login, password, created_at, updated_at, version)
+  select 'author-' || x, 'First ' || x, 'Last ' || x, 'login-' || x, 'password-' || x, dateadd(minute, x, timestamp '2021-01-01 00:00:00'),
+         case when mod(x, 2) = 0 then null else dateadd(hour, x, timestamp '2021-06-01 00:00:00') end, 0
+  from system_range(1, 7);
@@ -0,0 +1,14 @@
+-- rows of TouremIndexAdvisorTests, so that H2 plans the joins from the smaller filtered table
+insert into tourem.author (id, first_name, last_name, login, password, created_at, updated_at, version)
+  select 'author-' || x, 'First ' || x, 'Last ' || x, 'login-' || x, 'password-' || x, dateadd(minute, x, timestamp '2021-01-01 00:00:00'), null, 0
+  from system_range(1, 100);
+insert into tourem.article (id, title, payload, author_id, created_at, updated_at, version)
+  select 'article-' || x, 'Title ' || x, 'Payload ' || x, 'author-' || (mod(x, 100) + 1), dateadd(minute, x, timestamp '2021-01-01 00:00:00'), null, 0
+  from system_range(1, 5000);
+insert into tourem.user_role (id, name, created_at, updated_at, version)
+  select 'role-' || x, 'Role ' || x, dateadd(minute, x, timestamp '2021-01-01 00:00:00'), null, 0
+  from system_range(1, 10);
+insert into tourem.user_operation (id, operation_name, user_role_id, created_at, updated_at, version)
+  select 'operation-' || x, 'Operation ' || x, 'role-' || (mod(x, 10) + 1), dateadd(minute, x, timestamp '2021-01-01 00:00:00'), null, 0
+  from system_range(1, 1000);
+analyze;
@@ -0,0 +1,7 @@
+-- rows of the service tests, each test reading or writing its own rows
+insert into tourem.author (id, first_name, last_name, login, password, created_at, updated_at, version)
+  select 'author-' || x, 'First ' || x, 'Last ' || x, 'login-' || x, 'password-' || x, dateadd(minute, x, timestamp '2021-01-01 00:00:00'), null, 0
+  from system_range(1, 10);
+insert into tourem.article (id, title, payload, author_id, created_at, updated_at, version)
+  select 'article-' || x, 'Title ' || x, 'Payload ' || x, 'author-' || x, dateadd(minute, x, timestamp '2021-01-01 00:00:00'), null, 0
+  from system_range(1, 10);